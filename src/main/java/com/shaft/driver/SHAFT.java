@@ -19,13 +19,13 @@ import io.github.shafthq.shaft.driver.DriverFactoryHelper;
 import io.github.shafthq.shaft.driver.WizardHelpers;
 import io.github.shafthq.shaft.gui.browser.FluentBrowserActions;
 import io.github.shafthq.shaft.gui.element.FluentElementActions;
+import io.github.shafthq.shaft.listeners.WaitingEventFiringDecorator;
 import io.github.shafthq.shaft.listeners.WebDriverListener;
 import io.github.shafthq.shaft.tools.io.ReportManagerHelper;
 import io.github.shafthq.shaft.validations.RestValidationsBuilder;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.response.Response;
 import org.openqa.selenium.MutableCapabilities;
-import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.sikuli.script.App;
 
 import java.io.InputStream;
@@ -113,7 +113,7 @@ public class SHAFT {
 //                } else if (driverThreadLocal.get() instanceof RemoteWebDriver remoteWebDriver) {
 //                    driverThreadLocal.set(new EventFiringDecorator<>(RemoteWebDriver.class, new WebDriverListener()).decorate(remoteWebDriver));
                 } else {
-                    return new EventFiringDecorator<>(org.openqa.selenium.WebDriver.class, new WebDriverListener()).decorate(DriverFactoryHelper.getDriver().get());
+                    return new WaitingEventFiringDecorator<>(org.openqa.selenium.WebDriver.class, new WebDriverListener()).decorate(DriverFactoryHelper.getDriver().get());
                 }
             }
         }
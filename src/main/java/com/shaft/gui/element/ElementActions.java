@@ -264,7 +264,7 @@ public class ElementActions extends FluentElementActions {
     public static String getSize(WebDriver driver, By elementLocator) {
         try {
             var elementName = getElementName(driver, elementLocator);
-            String elementSize = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getSize().toString();
+            String elementSize = ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().getSize().toString();
             passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementSize, null, elementName);
             return elementSize;
         } catch (Throwable throwable) {
@@ -290,7 +290,7 @@ public class ElementActions extends FluentElementActions {
     public static String getTagName(WebDriver driver, By elementLocator) {
         try {
             var elementName = getElementName(driver, elementLocator);
-            String elementTagName = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getTagName();
+            String elementTagName = ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().getTagName();
             passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementTagName, null, elementName);
             return elementTagName;
         } catch (Throwable throwable) {
@@ -352,7 +352,7 @@ public class ElementActions extends FluentElementActions {
      */
     @Deprecated
     public static int getElementsCount(WebDriver driver, By elementLocator) {
-        return Integer.parseInt(ElementActionsHelper.getMatchingElementsInformation(driver, elementLocator, 1, false).get(0).toString());
+        return ElementActionsHelper.getMatchingElementsInformation(driver, elementLocator, 1, false).getNumberOfFoundElements();
     }
 
     /**
@@ -445,11 +445,11 @@ public class ElementActions extends FluentElementActions {
             var elementName = getElementName(driver, elementLocator);
             switch (key.toLowerCase().trim()) {
                 case "enter" ->
-                        ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).sendKeys(Keys.ENTER);
+                        ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().sendKeys(Keys.ENTER);
                 case "return" ->
-                        ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).sendKeys(Keys.RETURN);
+                        ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().sendKeys(Keys.RETURN);
                 case "tab" ->
-                        ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).sendKeys(Keys.TAB);
+                        ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().sendKeys(Keys.TAB);
                 default -> {
                     ReportManager.log("Unsupported Key.");
                     failAction(driver, key, elementLocator);
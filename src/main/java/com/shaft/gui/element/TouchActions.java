@@ -170,9 +170,9 @@ public class TouchActions {
             if (CAPTURE_CLICKED_ELEMENT_TEXT) {
                 try {
                     if (DriverFactoryHelper.isMobileNativeExecution()) {
-                        elementText = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getAttribute("text");
+                        elementText = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getAttribute("text");
                     } else {
-                        elementText = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getText();
+                        elementText = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getText();
                     }
                 } catch (Exception e) {
                     // do nothing
@@ -183,7 +183,7 @@ public class TouchActions {
 
             try {
 //                fixing https://github.com/ShaftHQ/SHAFT_ENGINE/issues/501
-                ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).click();
+                ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().click();
             } catch (Exception e) {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), elementLocator, e);
             }
@@ -213,7 +213,7 @@ public class TouchActions {
         try {
             String elementText = "";
             try {
-                elementText = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getText();
+                elementText = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getText();
             } catch (Exception e) {
                 // do nothing
             }
@@ -224,7 +224,7 @@ public class TouchActions {
             attachments.add(screenshot);
 
             try {
-                (new Actions(DriverFactoryHelper.getDriver().get())).doubleClick(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1))).perform();
+                (new Actions(DriverFactoryHelper.getDriver().get())).doubleClick(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement()).perform();
             } catch (Exception e) {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), elementLocator, e);
             }
@@ -256,7 +256,7 @@ public class TouchActions {
         try {
             String elementText = "";
             try {
-                elementText = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getText();
+                elementText = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getText();
             } catch (Exception e) {
                 // do nothing
             }
@@ -266,7 +266,7 @@ public class TouchActions {
             attachments.add(screenshot);
 
             try {
-                new Actions(DriverFactoryHelper.getDriver().get()).clickAndHold(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1))).perform();
+                new Actions(DriverFactoryHelper.getDriver().get()).clickAndHold(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement()).perform();
             } catch (Exception e) {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), elementLocator, e);
             }
@@ -399,8 +399,8 @@ public class TouchActions {
      */
     public TouchActions swipeToElement(By sourceElementLocator, By destinationElementLocator) {
         try {
-            WebElement sourceElement = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).get(1));
-            WebElement destinationElement = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), destinationElementLocator).get(1));
+            WebElement sourceElement = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).getFirstElement();
+            WebElement destinationElement = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), destinationElementLocator).getFirstElement();
 
             String startLocation = sourceElement.getLocation().toString();
 
@@ -410,7 +410,7 @@ public class TouchActions {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), sourceElementLocator, e);
             }
 
-            String endLocation = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).get(1)).getLocation().toString();
+            String endLocation = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).getFirstElement().getLocation().toString();
             String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
 
             if (!endLocation.equals(startLocation)) {
@@ -445,7 +445,7 @@ public class TouchActions {
      */
     public TouchActions swipeByOffset(By elementLocator, int xOffset, int yOffset) {
         try {
-            WebElement sourceElement = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1));
+            WebElement sourceElement = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement();
             Point elementLocation = sourceElement.getLocation();
             String startLocation = elementLocation.toString();
             try {
@@ -454,7 +454,7 @@ public class TouchActions {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), elementLocator, e);
             }
 
-            String endLocation = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getLocation().toString();
+            String endLocation = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getLocation().toString();
             String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
 
             if (!endLocation.equals(startLocation)) {
@@ -534,8 +534,22 @@ public class TouchActions {
      * @param swipeDirection             SwipeDirection.DOWN, UP, RIGHT, or LEFT
      * @return a self-reference to be used to chain actions
      */
-    @SuppressWarnings("unchecked")
     public TouchActions swipeElementIntoView(By scrollableElementLocator, String elementReferenceScreenshot, SwipeDirection swipeDirection) {
+        return swipeElementIntoView(scrollableElementLocator, elementReferenceScreenshot, swipeDirection, null);
+    }
+
+    /**
+     * Attempts to scroll element into view using the new W3C compliant actions for android and ios and AI for image identification,
+     * only searching for the reference image within a region of the screen
+     *
+     * @param scrollableElementLocator   the locator of the container/view/scrollable webElement that the scroll action will be performed inside
+     * @param elementReferenceScreenshot relative path to the reference image from the local object repository
+     * @param swipeDirection             SwipeDirection.DOWN, UP, RIGHT, or LEFT
+     * @param searchRegion               the region of the screenshot where the reference image is expected to appear, in screenshot pixels
+     * @return a self-reference to be used to chain actions
+     */
+    @SuppressWarnings("unchecked")
+    public TouchActions swipeElementIntoView(By scrollableElementLocator, String elementReferenceScreenshot, SwipeDirection swipeDirection, Rectangle searchRegion) {
         // Prepare attachments for reporting
         List<List<Object>> attachments = new LinkedList<>();
         try {
@@ -543,7 +557,7 @@ public class TouchActions {
             try {
                 if (DriverFactoryHelper.getDriver().get() instanceof AppiumDriver appiumDriver) {
                     // appium native application
-                    var visualIdentificationObjects = attemptToSwipeElementIntoViewInNativeApp(scrollableElementLocator, elementReferenceScreenshot, swipeDirection);
+                    var visualIdentificationObjects = attemptToSwipeElementIntoViewInNativeApp(scrollableElementLocator, elementReferenceScreenshot, swipeDirection, searchRegion);
                     byte[] currentScreenImage = (byte[]) visualIdentificationObjects.get(0);
                     byte[] referenceImage = (byte[]) visualIdentificationObjects.get(1);
                     List<Integer> coordinates = (List<Integer>) visualIdentificationObjects.get(2);
@@ -561,7 +575,7 @@ public class TouchActions {
                     }
                 } else {
                     // Wait for element presence and get the needed data
-                    var objects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), elementReferenceScreenshot);
+                    var objects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), elementReferenceScreenshot, searchRegion);
                     byte[] currentScreenImage = (byte[]) objects.get(0);
                     byte[] referenceImage = (byte[]) objects.get(1);
                     List<Integer> coordinates = (List<Integer>) objects.get(2);
@@ -619,9 +633,9 @@ public class TouchActions {
                 } else {
                     // regular touch screen device
                     if (scrollableElementLocator != null) {
-                        new Actions(DriverFactoryHelper.getDriver().get()).moveToElement(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), scrollableElementLocator).get(1))).scrollToElement(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), targetElementLocator).get(1))).perform();
+                        new Actions(DriverFactoryHelper.getDriver().get()).moveToElement(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), scrollableElementLocator).getFirstElement()).scrollToElement(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), targetElementLocator).getFirstElement()).perform();
                     } else {
-                        new Actions(DriverFactoryHelper.getDriver().get()).scrollToElement(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), targetElementLocator).get(1))).perform();
+                        new Actions(DriverFactoryHelper.getDriver().get()).scrollToElement(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), targetElementLocator).getFirstElement()).perform();
                     }
                 }
                 ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), targetElementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
@@ -650,7 +664,7 @@ public class TouchActions {
         return this;
     }
     @SuppressWarnings("unchecked")
-    private List<Object> attemptToSwipeElementIntoViewInNativeApp(By scrollableElementLocator, String targetElementImage, SwipeDirection swipeDirection) {
+    private List<Object> attemptToSwipeElementIntoViewInNativeApp(By scrollableElementLocator, String targetElementImage, SwipeDirection swipeDirection, Rectangle searchRegion) {
         boolean isElementFound = false;
         boolean canStillScroll = true;
         var isDiscrete = ReportManagerHelper.getDiscreteLogging();
@@ -663,7 +677,7 @@ public class TouchActions {
         do {
             // appium native device
             // Wait for element presence and get the needed data
-            visualIdentificationObjects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), targetElementImage);
+            visualIdentificationObjects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), targetElementImage, searchRegion);
             List<Integer> coordinates = (List<Integer>) visualIdentificationObjects.get(2);
 
             if (!Collections.emptyList().equals(coordinates)) {
@@ -676,7 +690,7 @@ public class TouchActions {
                 canStillScroll = attemptW3cCompliantActionsScroll(swipeDirection, scrollableElementLocator, null);
                 if (!canStillScroll){
                     // check if element can be found after scrolling to the end of the page
-                    visualIdentificationObjects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), targetElementImage);
+                    visualIdentificationObjects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), targetElementImage, searchRegion);
                     coordinates = (List<Integer>) visualIdentificationObjects.get(2);
                     if(!Collections.emptyList().equals(coordinates)) {
                         isElementFound = true;
@@ -750,7 +764,7 @@ public class TouchActions {
 
         if (scrollableElementLocator != null) {
             //scrolling inside an element
-            Rectangle elementRectangle = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), scrollableElementLocator).get(1)).getRect();
+            Rectangle elementRectangle = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), scrollableElementLocator).getFirstElement().getRect();
             scrollParameters.putAll(ImmutableMap.of(
                     "height", elementRectangle.getHeight() * 90 / 100
             ));
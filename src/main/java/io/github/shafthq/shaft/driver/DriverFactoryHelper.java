@@ -15,6 +15,9 @@ import io.github.bonigarcia.wdm.WebDriverManager;
 import io.github.bonigarcia.wdm.config.WebDriverManagerException;
 import io.github.shafthq.shaft.gui.browser.BrowserActionsHelpers;
 import io.github.shafthq.shaft.gui.browser.FluentBrowserActions;
+import io.github.shafthq.shaft.gui.element.ElementHandleCache;
+import io.github.shafthq.shaft.gui.image.ImageProcessingActions;
+import io.github.shafthq.shaft.gui.locator.ShadowDomLocator;
 import io.github.shafthq.shaft.gui.video.RecordManager;
 import io.github.shafthq.shaft.properties.Properties;
 import io.github.shafthq.shaft.properties.PropertiesHelper;
@@ -145,6 +148,9 @@ public class DriverFactoryHelper {
             } finally {
                 driver.remove();
                 webDriverManager.remove();
+                ElementHandleCache.clear();
+                ShadowDomLocator.clearCache();
+                ImageProcessingActions.releaseNativeMemory();
                 ReportManager.log("Successfully Closed Driver.");
             }
         }
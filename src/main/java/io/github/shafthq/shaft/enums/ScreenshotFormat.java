@@ -0,0 +1,38 @@
+package io.github.shafthq.shaft.enums;
+
+public enum ScreenshotFormat {
+    PNG("image/png", ".png"), JPEG("image/jpeg", ".jpg"), PALETTE_PNG("image/png", ".png");
+    final String mimeType;
+    final String fileExtension;
+
+    ScreenshotFormat(String mimeType, String fileExtension) {
+        this.mimeType = mimeType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * @return the output format configured using the screenshotParams_outputFormat property
+     */
+    public static ScreenshotFormat getConfiguredFormat() {
+        return valueOf(System.getProperty("screenshotParams_outputFormat", "PNG").trim().toUpperCase());
+    }
+
+    /**
+     * @param image the encoded image
+     * @return JPEG if the image starts with the JPEG signature, PNG otherwise
+     */
+    public static ScreenshotFormat detect(byte[] image) {
+        if (image != null && image.length > 2 && image[0] == (byte) 0xFF && image[1] == (byte) 0xD8 && image[2] == (byte) 0xFF) {
+            return JPEG;
+        }
+        return PNG;
+    }
+
+    public String getMimeType() {
+        return this.mimeType;
+    }
+
+    public String getFileExtension() {
+        return this.fileExtension;
+    }
+}
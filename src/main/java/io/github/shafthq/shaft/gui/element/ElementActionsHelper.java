@@ -8,7 +8,6 @@ import io.github.shafthq.shaft.driver.DriverFactoryHelper;
 import io.github.shafthq.shaft.enums.ClipboardAction;
 import io.github.shafthq.shaft.gui.image.ImageProcessingActions;
 import io.github.shafthq.shaft.gui.image.ScreenshotManager;
-import io.github.shafthq.shaft.gui.locator.ShadowLocatorBuilder;
 import io.github.shafthq.shaft.tools.io.ReportHelper;
 import io.github.shafthq.shaft.tools.io.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
@@ -16,6 +15,7 @@ import io.github.shafthq.shaft.tools.support.JavaScriptHelper;
 import io.github.shafthq.shaft.validations.ValidationsHelper;
 import org.jsoup.Jsoup;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.interactions.Locatable;
@@ -43,6 +43,8 @@ public class ElementActionsHelper {
     private static final int ELEMENT_IDENTIFICATION_POLLING_DELAY = 100; // milliseconds
     private static final boolean FORCE_CHECK_FOR_ELEMENT_VISIBILITY = Boolean
             .parseBoolean(System.getProperty("forceCheckForElementVisibility").trim());
+    private static final boolean RESOLVE_ELEMENTS_USING_JAVASCRIPT = Boolean
+            .parseBoolean(System.getProperty("resolveElementsUsingJavaScript"));
 
     private ElementActionsHelper() {
         throw new IllegalStateException("Utility class");
@@ -50,25 +52,29 @@ public class ElementActionsHelper {
 
     public static int waitForElementPresenceWithReducedTimeout(WebDriver driver, By elementLocator) {
         DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT = 300; //this is used for faster mobile native scrolling. default for ios is 200 and for android is 250, this covers both
-        var numberOfFoundElements = waitForElementPresence(driver, elementLocator);
+        var elementInformation = waitForElementPresence(driver, elementLocator);
         DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT = Integer
                 .parseInt(System.getProperty("defaultElementIdentificationTimeout").trim()) * 1000L;
-        return Integer.parseInt(numberOfFoundElements.get(0).toString());
+        return elementInformation.getNumberOfFoundElements();
     }
 
-    public static List<Object> waitForElementPresence(WebDriver driver, By elementLocator) {
+    public static ElementInformation waitForElementPresence(WebDriver driver, By elementLocator) {
         return waitForElementPresence(driver, elementLocator, 1, FORCE_CHECK_FOR_ELEMENT_VISIBILITY);
     }
 
-    public static List<Object> waitForElementPresence(WebDriver driver, By elementLocator, int numberOfAttempts) {
+    public static ElementInformation waitForElementPresence(WebDriver driver, By elementLocator, int numberOfAttempts) {
         return waitForElementPresence(driver, elementLocator, numberOfAttempts, FORCE_CHECK_FOR_ELEMENT_VISIBILITY);
     }
 
-    public static List<Object> waitForElementPresence(WebDriver driver, By elementLocator, boolean checkForVisibility) {
+    public static ElementInformation waitForElementPresence(WebDriver driver, By elementLocator, boolean checkForVisibility) {
         return waitForElementPresence(driver, elementLocator, 1, checkForVisibility);
     }
 
     public static List<Object> waitForElementPresence(WebDriver driver, String elementReferenceScreenshot) {
+        return waitForElementPresence(driver, elementReferenceScreenshot, null);
+    }
+
+    public static List<Object> waitForElementPresence(WebDriver driver, String elementReferenceScreenshot, Rectangle searchRegion) {
         long startTime = System.currentTimeMillis();
         long elapsedTime;
         List<Integer> coordinates;
@@ -85,7 +91,7 @@ public class ElementActionsHelper {
                     ReportManagerHelper.logDiscrete(e);
                 }
                 currentScreenImage = ScreenshotManager.takeViewportScreenshot(driver);
-                coordinates = ImageProcessingActions.findImageWithinCurrentPage(elementReferenceScreenshot, currentScreenImage);
+                coordinates = ImageProcessingActions.findImageWithinCurrentPage(elementReferenceScreenshot, currentScreenImage, searchRegion);
                 if (!Collections.emptyList().equals(coordinates)) {
                     isFound = true;
                 }
@@ -116,6 +122,42 @@ public class ElementActionsHelper {
         return true;
     }
 
+    /**
+     * Waits for many elements to be displayed using a single polling loop, evaluating all the locators using one
+     * script call per poll where possible, so the wait takes as long as the slowest element instead of the sum of the
+     * waits of all the elements.
+     *
+     * @param driver          the current instance of Selenium WebDriver
+     * @param elementLocators the locators of the webElements under test
+     * @param waitForAll      true to wait until all the elements are displayed, false to stop as soon as any is
+     * @return the first match of every locator if it is displayed, or null for the elements that were not displayed
+     * before the timeout expired, in the same order as the locators
+     */
+    public static List<WebElement> waitForElementsToBeDisplayed(WebDriver driver, List<By> elementLocators, boolean waitForAll) {
+        List<WebElement> displayedElements = new ArrayList<>(Collections.nCopies(elementLocators.size(), null));
+        try {
+            ElementPollingPolicy.createWait(driver, null, Duration.ofMillis(DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT))
+                    .ignoreAll(getExpectedExceptions(false))
+                    .until(nestedDriver -> {
+                        if (readElementsUsingJavaScript(nestedDriver, "ready", elementLocators, null) instanceof List<?> scriptResult) {
+                            for (var i = 0; i < elementLocators.size(); i++) {
+                                displayedElements.set(i, (WebElement) scriptResult.get(i));
+                            }
+                        } else {
+                            for (var i = 0; i < elementLocators.size(); i++) {
+                                var matchingElements = nestedDriver.findElements(elementLocators.get(i));
+                                displayedElements.set(i, !matchingElements.isEmpty() && matchingElements.get(0).isDisplayed() ? matchingElements.get(0) : null);
+                            }
+                        }
+                        var numberOfDisplayedElements = displayedElements.stream().filter(Objects::nonNull).count();
+                        return waitForAll ? numberOfDisplayedElements == elementLocators.size() : numberOfDisplayedElements > 0;
+                    });
+        } catch (org.openqa.selenium.TimeoutException timeoutException) {
+            ReportManagerHelper.logDiscrete(timeoutException);
+        }
+        return displayedElements;
+    }
+
     private static boolean isValidToCheckForVisibility(By elementLocator, boolean checkForVisibility) {
         var locatorString = formatLocatorToString(elementLocator).toLowerCase();
         return checkForVisibility
@@ -142,24 +184,26 @@ public class ElementActionsHelper {
     }
 
     //TODO: keep enhancing this method until we only need to make ONE WebDriver call per element in case of Type and Click (including element name)
-    public static List<Object> waitForElementPresence(WebDriver driver, By elementLocator, int numberOfAttempts, boolean checkForVisibility) {
+    public static ElementInformation waitForElementPresence(WebDriver driver, By elementLocator, int numberOfAttempts, boolean checkForVisibility) {
         boolean isValidToCheckForVisibility = isValidToCheckForVisibility(elementLocator, checkForVisibility);
         var isMobileExecution = DriverFactoryHelper.isMobileNativeExecution() || DriverFactoryHelper.isMobileWebExecution();
 
+        var startTime = System.currentTimeMillis();
         try {
 //            JavaScriptWaitManager.waitForLazyLoading(driver);
-            return new FluentWait<>(driver)
-                    .withTimeout(Duration.ofMillis(
+            var elementInformation = ElementPollingPolicy.createWait(driver, elementLocator, Duration.ofMillis(
                             DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT * numberOfAttempts))
-                    .pollingEvery(Duration.ofMillis(ELEMENT_IDENTIFICATION_POLLING_DELAY))
                     .ignoreAll(getExpectedExceptions(isValidToCheckForVisibility))
                     .until(nestedDriver -> {
-                        WebElement targetElement;
-                        if (formatLocatorToString(elementLocator).toLowerCase().contains("shadow") && ShadowLocatorBuilder.shadowDomLocator != null) {
-                            targetElement = nestedDriver.findElement(ShadowLocatorBuilder.shadowDomLocator).getShadowRoot().findElement(ShadowLocatorBuilder.cssSelector);
-                        } else {
-                            targetElement = nestedDriver.findElement(elementLocator);
+                        if (RESOLVE_ELEMENTS_USING_JAVASCRIPT && !isMobileExecution) {
+                            // one round trip to find, count, scroll to, and describe the element
+                            var resolvedElementInformation = resolveElementUsingJavaScript(nestedDriver, elementLocator, isValidToCheckForVisibility);
+                            if (resolvedElementInformation != null) {
+                                return resolvedElementInformation;
+                            }
+                            // else the locator type cannot be evaluated by the script, fall back to the native lookup
                         }
+                        WebElement targetElement = nestedDriver.findElement(elementLocator);
                         if (isValidToCheckForVisibility) {
                             if (!isMobileExecution) {
                                 try {
@@ -179,22 +223,18 @@ public class ElementActionsHelper {
                                 targetElement.isDisplayed();
                             }
                         }
-                        var elementInformation = new ElementInformation();
-                        if (formatLocatorToString(elementLocator).toLowerCase().contains("shadow") && ShadowLocatorBuilder.shadowDomLocator != null) {
-                            elementInformation.setNumberOfFoundElements(nestedDriver.findElement(ShadowLocatorBuilder.shadowDomLocator).getShadowRoot().findElements(ShadowLocatorBuilder.cssSelector).size());
-                        } else {
-                            elementInformation.setNumberOfFoundElements(nestedDriver.findElements(elementLocator).size());
-                        }
-                        elementInformation.setFirstElement(targetElement);
-                        elementInformation.setLocator(elementLocator);
+                        int numberOfFoundElements = nestedDriver.findElements(elementLocator).size();
 
+                        var outerHTML = "";
+                        var innerHTML = "";
                         if (!isMobileExecution && GET_ELEMENT_HTML) {
-                            elementInformation.setOuterHTML(targetElement.getAttribute("outerHTML"));
-                            elementInformation.setInnerHTML(targetElement.getAttribute("innerHTML"));
+                            outerHTML = targetElement.getAttribute("outerHTML");
+                            innerHTML = targetElement.getAttribute("innerHTML");
                         }
 
+                        var elementName = "";
                         if (Boolean.TRUE.equals(Boolean.parseBoolean(System.getProperty("captureElementName")))) {
-                            var elementName = formatLocatorToString(elementLocator);
+                            elementName = formatLocatorToString(elementLocator);
                             try {
                                 var accessibleName = targetElement.getAccessibleName();
                                 if (accessibleName != null && !accessibleName.isBlank()) {
@@ -205,42 +245,114 @@ public class ElementActionsHelper {
                                 //this exception is thrown on some older selenium grid instances, I saw it with firefox running over selenoid
                                 //ignore
                             }
-                            elementInformation.setElementName(elementName);
                         }
 
-                        return elementInformation.toList();
-                        // int numberOfFoundElements
-                        // WebElement firstElement
-                        // By locator
-                        // String outerHTML (or empty string)
-                        // String innerHTML (or empty string)
-                        // String elementName (or empty string)
+                        return new ElementInformation(numberOfFoundElements, targetElement, elementLocator, outerHTML, innerHTML, elementName);
                     });
+            ElementPollingPolicy.recordTimeToAppear(elementLocator, System.currentTimeMillis() - startTime);
+            return elementInformation;
         } catch (org.openqa.selenium.TimeoutException timeoutException) {
             // In case the element was not found / not visible and the timeout expired
             ReportManager.logDiscrete(timeoutException.getMessage() + " || " + timeoutException.getCause().getMessage().substring(0, timeoutException.getCause().getMessage().indexOf("\n")));
-            var elementInformation = new ArrayList<>();
-            elementInformation.add(0);
-            elementInformation.add(null);
-            elementInformation.add(timeoutException);
-            return elementInformation;
+            return ElementInformation.notFound(timeoutException);
         } catch (org.openqa.selenium.InvalidSelectorException invalidSelectorException) {
             // In case the selector is not valid
             ReportManager.logDiscrete(invalidSelectorException.getMessage());
-            var elementInformation = new ArrayList<>();
-            elementInformation.add(0);
-            elementInformation.add(null);
-            elementInformation.add(invalidSelectorException);
-            return elementInformation;
+            return ElementInformation.notFound(invalidSelectorException);
+        }
+    }
+
+    /**
+     * Finds the first element matching the locator, counts all matches, scrolls the element to the center of the
+     * viewport, and reads its HTML and accessible name using a single injected script.
+     *
+     * @param driver          the current instance of Selenium WebDriver
+     * @param elementLocator  the locator of the webElement under test
+     * @param scrollToElement whether the element should be scrolled into view
+     * @return the element information, or null if the locator type cannot be evaluated by the script
+     * @throws NoSuchElementException if the script found zero elements, so that the calling wait keeps polling
+     */
+    @SuppressWarnings("unchecked")
+    private static ElementInformation resolveElementUsingJavaScript(WebDriver driver, By elementLocator, boolean scrollToElement) {
+        var scriptLocator = getScriptLocator(elementLocator);
+        if (scriptLocator == null) {
+            return null;
+        }
+        var captureElementName = Boolean.parseBoolean(System.getProperty("captureElementName"));
+        Map<String, Object> payload;
+        try {
+            payload = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(JavaScriptHelper.ELEMENT_RESOLVE.getValue(),
+                    scriptLocator.get(0), scriptLocator.get(1), scrollToElement, GET_ELEMENT_HTML, captureElementName);
+        } catch (JavascriptException javascriptException) {
+            // invalid selectors are reported more accurately by the native lookup
+            ReportManagerHelper.logDiscrete(javascriptException);
+            return null;
+        }
+        if (payload == null || !Boolean.TRUE.equals(payload.get("supported"))) {
+            return null;
+        }
+        var numberOfFoundElements = ((Number) payload.get("count")).intValue();
+        if (numberOfFoundElements == 0) {
+            throw new NoSuchElementException("Unable to locate element: " + formatLocatorToString(elementLocator));
+        }
+        var elementName = "";
+        if (captureElementName) {
+            var accessibleName = String.valueOf(payload.get("accessibleName"));
+            elementName = accessibleName.isBlank() ? formatLocatorToString(elementLocator) : accessibleName;
+        }
+        return new ElementInformation(numberOfFoundElements, (WebElement) payload.get("element"), elementLocator,
+                String.valueOf(payload.get("outerHTML")), String.valueOf(payload.get("innerHTML")), elementName);
+    }
+
+    /**
+     * Reads the texts, attribute values, or table cells of many elements using a single injected script.
+     *
+     * @param driver          the current instance of Selenium WebDriver
+     * @param mode            "ready" to get the first match of every locator if it is displayed, "texts" to read
+     *                        the text of the first match of every locator, "attributes" to read the
+     *                        attribute of all the matches of the first locator, or "table" to read the cells of the
+     *                        first match of the first locator
+     * @param elementLocators the locators of the webElements under test
+     * @param attributeName   the target attribute, only used in the "attributes" mode
+     * @return the script result, or null if any of the locators cannot be evaluated by the script
+     */
+    static Object readElementsUsingJavaScript(WebDriver driver, String mode, List<By> elementLocators, String attributeName) {
+        if (DriverFactoryHelper.isMobileNativeExecution()) {
+            return null;
+        }
+        List<List<String>> scriptLocators = new ArrayList<>();
+        for (By elementLocator : elementLocators) {
+            var scriptLocator = getScriptLocator(elementLocator);
+            if (scriptLocator == null) {
+                return null;
+            }
+            scriptLocators.add(scriptLocator);
+        }
+        try {
+            return ((JavascriptExecutor) driver).executeScript(JavaScriptHelper.ELEMENTS_BULK_READ.getValue(), mode, scriptLocators, attributeName);
+        } catch (JavascriptException javascriptException) {
+            // invalid selectors are reported more accurately by the native lookup
+            ReportManagerHelper.logDiscrete(javascriptException);
+            return null;
+        }
+    }
+
+    /**
+     * @param elementLocator the locator of the webElement under test
+     * @return the W3C strategy and value of the locator, or null if the locator cannot be evaluated by a script
+     */
+    private static List<String> getScriptLocator(By elementLocator) {
+        if (!(elementLocator instanceof By.Remotable remotableLocator) || elementLocator instanceof RelativeLocator.RelativeBy
+                || !(remotableLocator.getRemoteParameters().value() instanceof String locatorValue)) {
+            return null;
         }
+        return List.of(remotableLocator.getRemoteParameters().using(), locatorValue);
     }
 
-    public static List<Object> scrollToFindElement(WebDriver driver, By elementLocator) {
+    public static ElementInformation scrollToFindElement(WebDriver driver, By elementLocator) {
         try {
-            return new FluentWait<>(driver)
-                    .withTimeout(Duration.ofMillis(
+            return ElementPollingPolicy.createWait(driver, elementLocator, Duration.ofMillis(
                             DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT))
-                    .pollingEvery(Duration.ofMillis(ELEMENT_IDENTIFICATION_POLLING_DELAY))
                     .ignoreAll(getExpectedExceptions(true))
                     .until(nestedDriver -> {
                         WebElement targetElement;
@@ -250,19 +362,12 @@ public class ElementActionsHelper {
                             new Actions(nestedDriver).scrollByAmount(0, nestedDriver.manage().window().getSize().getHeight()).perform();
                             targetElement = nestedDriver.findElement(elementLocator);
                         }
-                        var elementInformation = new ArrayList<>();
-                        elementInformation.add(nestedDriver.findElements(elementLocator).size());
-                        elementInformation.add(targetElement);
-                        return elementInformation;
+                        return new ElementInformation(nestedDriver.findElements(elementLocator).size(), targetElement, elementLocator, "", "", "");
                     });
         } catch (org.openqa.selenium.TimeoutException timeoutException) {
             // In case the element was not found / not visible and the timeout expired
             ReportManager.logDiscrete(timeoutException.getMessage() + " || " + timeoutException.getCause().getMessage().substring(0, timeoutException.getCause().getMessage().indexOf("\n")));
-            var elementInformation = new ArrayList<>();
-            elementInformation.add(0);
-            elementInformation.add(null);
-            elementInformation.add(timeoutException);
-            return elementInformation;
+            return ElementInformation.notFound(timeoutException);
         }
     }
 
@@ -272,8 +377,21 @@ public class ElementActionsHelper {
 
         if (!DriverFactoryHelper.isMobileNativeExecution()) {
             try {
-                (new WebDriverWait(driver, Duration.ofMillis(DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT)))
-                        .until(ExpectedConditions.elementToBeClickable(elementLocator));
+                ElementPollingPolicy.createWait(driver, elementLocator, Duration.ofMillis(DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT))
+                        .ignoring(NotFoundException.class)
+                        .ignoring(StaleElementReferenceException.class)
+                        .until(nestedDriver -> {
+                            var resolvedElement = ElementResolutionContext.getElement(elementLocator);
+                            if (resolvedElement == null) {
+                                return ExpectedConditions.elementToBeClickable(elementLocator).apply(nestedDriver);
+                            }
+                            try {
+                                return resolvedElement.isDisplayed() && resolvedElement.isEnabled() ? resolvedElement : null;
+                            } catch (StaleElementReferenceException staleElementReferenceException) {
+                                ElementResolutionContext.invalidate(elementLocator);
+                                throw staleElementReferenceException;
+                            }
+                        });
 
 
                 var expectedExceptions = getExpectedExceptions(true);
@@ -281,18 +399,22 @@ public class ElementActionsHelper {
                     expectedExceptions.add(ElementClickInterceptedException.class);
                 }
 
-                return new FluentWait<>(driver)
-                        .withTimeout(Duration.ofMillis(
+                return ElementPollingPolicy.createWait(driver, elementLocator, Duration.ofMillis(
                                 DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT))
-                        .pollingEvery(Duration.ofMillis(ELEMENT_IDENTIFICATION_POLLING_DELAY))
                         .ignoreAll(expectedExceptions)
                         .until(nestedDriver -> {
                             if (!actionToExecute.isEmpty()) {
-                                switch (actionToExecute.toLowerCase()) {
-                                    case "click" ->
-                                            ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).click();
-                                    case "clickandhold" ->
-                                            (new Actions(driver)).clickAndHold(((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1))).build().perform();
+                                try {
+                                    switch (actionToExecute.toLowerCase()) {
+                                        case "click" ->
+                                                ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().click();
+                                        case "clickandhold" ->
+                                                (new Actions(driver)).clickAndHold(ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement()).build().perform();
+                                    }
+                                } catch (StaleElementReferenceException staleElementReferenceException) {
+                                    // resolve the element again in the next attempt
+                                    ElementResolutionContext.invalidate(elementLocator);
+                                    throw staleElementReferenceException;
                                 }
                             }
                             return true;
@@ -357,7 +479,7 @@ public class ElementActionsHelper {
 
     public static void clickUsingJavascript(WebDriver driver, By elementLocator) {
         if (DriverFactoryHelper.isWebExecution()) {
-            ((JavascriptExecutor) driver).executeScript("arguments[arguments.length - 1].click();", ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1));
+            ((JavascriptExecutor) driver).executeScript("arguments[arguments.length - 1].click();", ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement());
         }
     }
 
@@ -368,14 +490,14 @@ public class ElementActionsHelper {
             js.executeAsyncScript(jQueryLoader /* , http://localhost:8080/jquery-1.7.2.js */);
             String dragAndDropHelper = JavaScriptHelper.ELEMENT_DRAG_AND_DROP.getValue();
             dragAndDropHelper = dragAndDropHelper + "$(arguments[0]).simulateDragDrop({dropTarget:arguments[1]});";
-            ((JavascriptExecutor) driver).executeScript(dragAndDropHelper, ElementActionsHelper.identifyUniqueElement(driver, sourceElementLocator).get(1), ElementActionsHelper.identifyUniqueElement(driver, destinationElementLocator).get(1));
+            ((JavascriptExecutor) driver).executeScript(dragAndDropHelper, ElementActionsHelper.identifyUniqueElement(driver, sourceElementLocator).getFirstElement(), ElementActionsHelper.identifyUniqueElement(driver, destinationElementLocator).getFirstElement());
         }
     }
 
     public static void dragAndDropUsingActions(WebDriver driver, By sourceElementLocator, By destinationElementLocator) {
         new Actions(driver)
-                .dragAndDrop(((WebElement) ElementActionsHelper.identifyUniqueElement(driver, sourceElementLocator).get(1))
-                        , ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, destinationElementLocator).get(1)))
+                .dragAndDrop(ElementActionsHelper.identifyUniqueElement(driver, sourceElementLocator).getFirstElement()
+                        , ElementActionsHelper.identifyUniqueElement(driver, destinationElementLocator).getFirstElement())
                 .build().perform();
     }
 
@@ -386,7 +508,7 @@ public class ElementActionsHelper {
     public static void submitFormUsingJavascript(WebDriver driver, By elementLocator) {
         if (DriverFactoryHelper.isWebExecution()) {
             ((JavascriptExecutor) driver).executeScript("arguments[0].submit();",
-                    ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1));
+                    ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement());
         }
     }
 
@@ -394,9 +516,9 @@ public class ElementActionsHelper {
         if (DriverFactoryHelper.isWebExecution()) {
 
             if (Boolean.TRUE.equals(desiredIsVisibleState)) {
-                ((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('style', 'display:block !important;');", ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1));
+                ((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('style', 'display:block !important;');", ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement());
             } else {
-                ((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('style', 'display:none');", ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1));
+                ((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('style', 'display:none');", ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement());
             }
         }
     }
@@ -405,7 +527,7 @@ public class ElementActionsHelper {
         try {
             if (DriverFactoryHelper.isWebExecution()) {
                 ((JavascriptExecutor) DriverFactoryHelper.getDriver().get()).executeScript("arguments[0].value='" + value + "';"
-                        , ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1));
+                        , ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement());
             }
             return true;
         } catch (Exception e) {
@@ -422,7 +544,7 @@ public class ElementActionsHelper {
                             , (elementInformation.getFirstElement()));
                 } catch (WebDriverException webDriverException) {
                     ((JavascriptExecutor) DriverFactoryHelper.getDriver().get()).executeScript("arguments[0].value='" + value + "';"
-                            , ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).get(1));
+                            , ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).getFirstElement());
                 }
             }
             return true;
@@ -537,7 +659,7 @@ public class ElementActionsHelper {
     public static String getElementName(WebDriver driver, By elementLocator) {
         if (Boolean.TRUE.equals(Boolean.parseBoolean(System.getProperty("captureElementName")))) {
             try {
-                var accessibleName = ((WebElement) identifyUniqueElementIgnoringVisibility(driver, elementLocator).get(1)).getAccessibleName();
+                var accessibleName = identifyUniqueElementIgnoringVisibility(driver, elementLocator).getFirstElement().getAccessibleName();
                 if (accessibleName != null && !accessibleName.isBlank()) {
                     return accessibleName;
                 }
@@ -555,7 +677,8 @@ public class ElementActionsHelper {
         try {
             (elementInformation.getFirstElement()).clear();
         } catch (WebDriverException webDriverException) {
-            ((WebElement) identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).get(1)).clear();
+            ElementResolutionContext.invalidateIfStale(elementInformation.getLocator(), webDriverException);
+            identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).getFirstElement().clear();
         }
         // attempt clear using letter by letter backspace
         var attemptClearBeforeTypingUsingBackspace = Boolean.parseBoolean(System.getProperty("attemptClearBeforeTypingUsingBackspace"));
@@ -565,7 +688,8 @@ public class ElementActionsHelper {
                 try {
                     (elementInformation.getFirstElement()).sendKeys(Keys.BACK_SPACE);
                 } catch (WebDriverException webDriverException) {
-                    ((WebElement) identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).get(1)).sendKeys(Keys.BACK_SPACE);
+                    ElementResolutionContext.invalidateIfStale(elementInformation.getLocator(), webDriverException);
+                    identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).getFirstElement().sendKeys(Keys.BACK_SPACE);
                 }
             }
         }
@@ -573,7 +697,8 @@ public class ElementActionsHelper {
 
     private static String confirmTypingWasSuccessful(ElementInformation elementInformation, TextDetectionStrategy successfulTextLocationStrategy) {
         //get a fresh instance of the element
-        var updatedElementInformation = ElementInformation.fromList(identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()));
+        ElementResolutionContext.invalidate(elementInformation.getLocator());
+        var updatedElementInformation = identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator());
         TextDetectionStrategy updatedSuccessfulTextLocationStrategy = successfulTextLocationStrategy;
         if (updatedSuccessfulTextLocationStrategy.equals(TextDetectionStrategy.UNDEFINED)) {
             updatedSuccessfulTextLocationStrategy = determineSuccessfulTextLocationStrategy(updatedElementInformation);
@@ -612,7 +737,8 @@ public class ElementActionsHelper {
                 try {
                     temp = (elementInformation.getFirstElement()).getText();
                 } catch (WebDriverException webDriverException) {
-                    temp = ((WebElement) identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).get(1)).getText();
+                    ElementResolutionContext.invalidateIfStale(elementInformation.getLocator(), webDriverException);
+                    temp = identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).getFirstElement().getText();
                 }
                 return (temp == null) ? "" : temp;
             }
@@ -620,7 +746,8 @@ public class ElementActionsHelper {
                 try {
                     temp = (elementInformation.getFirstElement()).getAttribute(TextDetectionStrategy.CONTENT.getValue());
                 } catch (WebDriverException webDriverException) {
-                    temp = ((WebElement) identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).get(1)).getAttribute(TextDetectionStrategy.CONTENT.getValue());
+                    ElementResolutionContext.invalidateIfStale(elementInformation.getLocator(), webDriverException);
+                    temp = identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).getFirstElement().getAttribute(TextDetectionStrategy.CONTENT.getValue());
                 }
                 return (temp == null) ? "" : temp;
             }
@@ -628,7 +755,8 @@ public class ElementActionsHelper {
                 try {
                     temp = (elementInformation.getFirstElement()).getAttribute(TextDetectionStrategy.VALUE.getValue());
                 } catch (WebDriverException webDriverException) {
-                    temp = ((WebElement) identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).get(1)).getAttribute(TextDetectionStrategy.VALUE.getValue());
+                    ElementResolutionContext.invalidateIfStale(elementInformation.getLocator(), webDriverException);
+                    temp = identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementInformation.getLocator()).getFirstElement().getAttribute(TextDetectionStrategy.VALUE.getValue());
                 }
                 return (temp == null) ? "" : temp;
             }
@@ -720,24 +848,24 @@ public class ElementActionsHelper {
         return false;
     }
 
-    public static List<Object> identifyUniqueElement(WebDriver driver, By elementLocator) {
+    public static ElementInformation identifyUniqueElement(WebDriver driver, By elementLocator) {
         return identifyUniqueElement(driver, elementLocator, true);
     }
 
-    public static List<Object> identifyUniqueElementIgnoringVisibility(WebDriver driver, By elementLocator) {
+    public static ElementInformation identifyUniqueElementIgnoringVisibility(WebDriver driver, By elementLocator) {
         return identifyUniqueElement(driver, elementLocator, false);
     }
 
-    private static List<Object> identifyUniqueElement(WebDriver driver, By elementLocator,
-                                                      boolean checkForVisibility) {
+    private static ElementInformation identifyUniqueElement(WebDriver driver, By elementLocator,
+                                                            boolean checkForVisibility) {
         var matchingElementsInformation = getMatchingElementsInformation(driver, elementLocator, 1, checkForVisibility);
 
         if (elementLocator != null) {
             // in case of regular locator
-            switch (Integer.parseInt(matchingElementsInformation.get(0).toString())) {
+            switch (matchingElementsInformation.getNumberOfFoundElements()) {
                 case 0 -> {
-                    if (matchingElementsInformation.size() > 2 && matchingElementsInformation.get(2) instanceof Throwable) {
-                        Assert.fail("zero elements found matching this locator \"" + formatLocatorToString(elementLocator) + "\"", (Throwable) matchingElementsInformation.get(2));
+                    if (matchingElementsInformation.getFailureCause() != null) {
+                        Assert.fail("zero elements found matching this locator \"" + formatLocatorToString(elementLocator) + "\"", matchingElementsInformation.getFailureCause());
                     }
                     Assert.fail("zero elements found matching this locator \"" + formatLocatorToString(elementLocator) + "\"");
                 }
@@ -760,21 +888,28 @@ public class ElementActionsHelper {
         return matchingElementsInformation;
     }
 
-    public static List<Object> getMatchingElementsInformation(WebDriver driver, By elementLocator, int numberOfAttempts, boolean checkForVisibility) {
+    public static ElementInformation getMatchingElementsInformation(WebDriver driver, By elementLocator, int numberOfAttempts, boolean checkForVisibility) {
         if (elementLocator == null) {
-            var elementInformation = new ArrayList<>();
-            elementInformation.add(0);
-            elementInformation.add(null);
-            return elementInformation;
+            return ElementInformation.notFound();
         }
         if (!elementLocator.equals(By.tagName("html"))) {
-            return ElementActionsHelper.waitForElementPresence(driver, elementLocator, numberOfAttempts, checkForVisibility);
+            // reuse the element if it was already resolved by the current element action
+            var resolvedElementInformation = ElementResolutionContext.lookup(elementLocator, checkForVisibility);
+            if (resolvedElementInformation == null) {
+                // or if it was cached by an earlier action and the page did not change since then
+                resolvedElementInformation = ElementHandleCache.lookup(driver, elementLocator, checkForVisibility);
+            }
+            if (resolvedElementInformation != null) {
+                ElementResolutionContext.store(elementLocator, checkForVisibility, resolvedElementInformation);
+                return resolvedElementInformation;
+            }
+            var elementInformation = ElementActionsHelper.waitForElementPresence(driver, elementLocator, numberOfAttempts, checkForVisibility);
+            ElementResolutionContext.store(elementLocator, checkForVisibility, elementInformation);
+            ElementHandleCache.store(driver, elementLocator, checkForVisibility, elementInformation);
+            return elementInformation;
         } else {
             //if locator is just tag-name html
-            var elementInformation = new ArrayList<>();
-            elementInformation.add(1);
-            elementInformation.add(null);
-            return elementInformation;
+            return ElementInformation.ofCount(1);
         }
     }
 
@@ -788,7 +923,7 @@ public class ElementActionsHelper {
      * desired elementLocator
      */
     public static int getElementsCount(WebDriver driver, By elementLocator) {
-        return Integer.parseInt(ElementActionsHelper.getMatchingElementsInformation(driver, elementLocator, 1, false).get(0).toString());
+        return ElementActionsHelper.getMatchingElementsInformation(driver, elementLocator, 1, false).getNumberOfFoundElements();
     }
 
     /**
@@ -804,7 +939,7 @@ public class ElementActionsHelper {
      * desired elementLocator
      */
     public static int getElementsCount(WebDriver driver, By elementLocator, int numberOfAttempts) {
-        return Integer.parseInt(ElementActionsHelper.getMatchingElementsInformation(driver, elementLocator, numberOfAttempts, false).get(0).toString());
+        return ElementActionsHelper.getMatchingElementsInformation(driver, elementLocator, numberOfAttempts, false).getNumberOfFoundElements();
     }
 
     public static void passAction(WebDriver driver, By elementLocator, String testData, List<Object> screenshot, String elementName) {
@@ -871,7 +1006,7 @@ public class ElementActionsHelper {
         if (elementLocator != null) {
             elementName = formatLocatorToString(elementLocator);
             try {
-                var accessibleName = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getAccessibleName();
+                var accessibleName = ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().getAccessibleName();
                 if (accessibleName != null && !accessibleName.isBlank()) {
                     elementName = accessibleName;
                 }
@@ -0,0 +1,134 @@
+package io.github.shafthq.shaft.gui.element;
+
+import io.github.shafthq.shaft.driver.DriverFactoryHelper;
+import io.github.shafthq.shaft.tools.io.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.support.JavaScriptHelper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An opt-in, per-thread cache of resolved element handles, enabled using the cacheElementHandles property.
+ * <p>
+ * Every document (window, frame, or navigation) gets a MutationObserver that counts DOM changes. Cached entries are
+ * tagged with the identity of that document and its mutation count, and are only served while both are unchanged,
+ * so a repeated lookup on an unchanged page costs one tiny script call instead of a full element identification.
+ */
+public class ElementHandleCache {
+    private static final boolean CACHE_ELEMENT_HANDLES = Boolean.parseBoolean(System.getProperty("cacheElementHandles"));
+    private static final int MAXIMUM_CACHED_ELEMENTS = 256;
+    private static final ThreadLocal<Map<By, CachedElement>> cachedElements = ThreadLocal.withInitial(() -> new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<By, CachedElement> eldest) {
+            return size() > MAXIMUM_CACHED_ELEMENTS;
+        }
+    });
+    private static final ThreadLocal<long[]> statistics = ThreadLocal.withInitial(() -> new long[2]);
+
+    private ElementHandleCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the cached element information for the target locator if the DOM did not change since it was cached.
+     *
+     * @param driver             the current instance of Selenium WebDriver
+     * @param elementLocator     the locator of the webElement under test
+     * @param checkForVisibility whether the caller requires the element to have been checked for visibility
+     * @return the cached element information, or null in case of a cache miss
+     */
+    static ElementInformation lookup(WebDriver driver, By elementLocator, boolean checkForVisibility) {
+        if (!isEnabled()) {
+            return null;
+        }
+        var cachedElement = cachedElements.get().get(elementLocator);
+        if (cachedElement != null && (cachedElement.checkedForVisibility() || !checkForVisibility)) {
+            if (cachedElement.domToken().equals(getDomToken(driver))) {
+                statistics.get()[0]++;
+                return cachedElement.elementInformation();
+            }
+            // the page was changed or navigated away from, so the handle may no longer be valid
+            cachedElements.get().remove(elementLocator);
+        }
+        statistics.get()[1]++;
+        return null;
+    }
+
+    /**
+     * Caches the element information for the target locator, tagged with the current state of the DOM.
+     *
+     * @param driver             the current instance of Selenium WebDriver
+     * @param elementLocator     the locator of the webElement under test
+     * @param checkForVisibility whether the element was checked for visibility while it was being resolved
+     * @param elementInformation the element information as returned by waitForElementPresence
+     */
+    static void store(WebDriver driver, By elementLocator, boolean checkForVisibility, ElementInformation elementInformation) {
+        if (!isEnabled() || elementInformation.getFirstElement() == null || elementInformation.getNumberOfFoundElements() < 1) {
+            return;
+        }
+        var domToken = getDomToken(driver);
+        if (!domToken.isEmpty()) {
+            cachedElements.get().put(elementLocator, new CachedElement(domToken, checkForVisibility, elementInformation));
+        }
+    }
+
+    /**
+     * Drops the cached element for the target locator.
+     *
+     * @param elementLocator the locator of the webElement under test
+     */
+    public static void invalidate(By elementLocator) {
+        if (elementLocator != null) {
+            cachedElements.get().remove(elementLocator);
+        }
+    }
+
+    /**
+     * Drops all the cached elements for the current thread, for example when its driver is closed.
+     */
+    public static void clear() {
+        cachedElements.remove();
+    }
+
+    /**
+     * @return the number of lookups that were served from the cache on the current thread
+     */
+    public static long getHitCount() {
+        return statistics.get()[0];
+    }
+
+    /**
+     * @return the number of lookups that had to identify the element on the current thread
+     */
+    public static long getMissCount() {
+        return statistics.get()[1];
+    }
+
+    /**
+     * Resets the hit and miss counters of the current thread, for example at the start of every test.
+     */
+    public static void resetStatistics() {
+        statistics.remove();
+    }
+
+    private static boolean isEnabled() {
+        return CACHE_ELEMENT_HANDLES && !DriverFactoryHelper.isMobileNativeExecution();
+    }
+
+    private static String getDomToken(WebDriver driver) {
+        try {
+            var domToken = ((JavascriptExecutor) driver).executeScript(JavaScriptHelper.ELEMENT_CACHE_DOM_TOKEN.getValue());
+            return domToken == null ? "" : domToken.toString();
+        } catch (WebDriverException | ClassCastException exception) {
+            ReportManagerHelper.logDiscrete(exception);
+            return "";
+        }
+    }
+
+    private record CachedElement(String domToken, boolean checkedForVisibility, ElementInformation elementInformation) {
+    }
+}
@@ -1,52 +1,58 @@
 package io.github.shafthq.shaft.gui.element;
 
 import lombok.Getter;
-import lombok.Setter;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * The immutable result of identifying an element. Instances are shared between the element actions and the element
+ * caches, so they are never copied or modified after creation.
+ */
+@Getter
 public class ElementInformation {
-        @Setter
-        @Getter
-        private int numberOfFoundElements = 0;
-        @Setter
-        @Getter
-        private WebElement firstElement = null;
-        @Setter
-        @Getter
-        private By locator = null;
-        @Setter
-        @Getter
-        private String outerHTML = "";
-        @Setter
-        @Getter
-        private String innerHTML = "";
-        @Setter
-        @Getter
-        private String elementName = "";
+        private static final ElementInformation NOT_FOUND = new ElementInformation(0, null, null, "", "", "", null);
+        private final int numberOfFoundElements;
+        private final WebElement firstElement;
+        private final By locator;
+        private final String outerHTML;
+        private final String innerHTML;
+        private final String elementName;
+        private final Throwable failureCause;
+
+        public ElementInformation(int numberOfFoundElements, WebElement firstElement, By locator, String outerHTML, String innerHTML, String elementName) {
+                this(numberOfFoundElements, firstElement, locator, outerHTML, innerHTML, elementName, null);
+        }
+
+        private ElementInformation(int numberOfFoundElements, WebElement firstElement, By locator, String outerHTML, String innerHTML, String elementName, Throwable failureCause) {
+                this.numberOfFoundElements = numberOfFoundElements;
+                this.firstElement = firstElement;
+                this.locator = locator;
+                this.outerHTML = outerHTML == null ? "" : outerHTML;
+                this.innerHTML = innerHTML == null ? "" : innerHTML;
+                this.elementName = elementName == null ? "" : elementName;
+                this.failureCause = failureCause;
+        }
+
+        /**
+         * @return the result of a lookup that found no elements without failing
+         */
+        public static ElementInformation notFound() {
+                return NOT_FOUND;
+        }
 
-        public static ElementInformation fromList(List<Object> elementInformation) {
-                var temp = new ElementInformation();
-                temp.setNumberOfFoundElements((int) elementInformation.get(0));
-                temp.setFirstElement((WebElement) elementInformation.get(1));
-                temp.setLocator((By) elementInformation.get(2));
-                temp.setOuterHTML((String) elementInformation.get(3));
-                temp.setInnerHTML((String) elementInformation.get(4));
-                temp.setElementName((String) elementInformation.get(5));
-                return temp;
+        /**
+         * @param failureCause the exception that caused the lookup to fail, for example a timeout or an invalid selector
+         * @return the result of a lookup that found no elements because it failed
+         */
+        public static ElementInformation notFound(Throwable failureCause) {
+                return new ElementInformation(0, null, null, "", "", "", failureCause);
         }
 
-        public List<Object> toList() {
-                var temp = new ArrayList<>();
-                temp.add(numberOfFoundElements);
-                temp.add(firstElement);
-                temp.add(locator);
-                temp.add(outerHTML);
-                temp.add(innerHTML);
-                temp.add(elementName);
-                return temp;
+        /**
+         * @param numberOfFoundElements the number of elements that match the locator
+         * @return the result of a lookup that only counted the matching elements
+         */
+        public static ElementInformation ofCount(int numberOfFoundElements) {
+                return new ElementInformation(numberOfFoundElements, null, null, "", "", "", null);
         }
 }
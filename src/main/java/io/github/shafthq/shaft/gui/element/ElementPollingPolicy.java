@@ -0,0 +1,187 @@
+package io.github.shafthq.shaft.gui.element;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides how long element waits sleep between attempts, based on the elementIdentificationPollingStrategy property.
+ * <ul>
+ * <li>FIXED: polls every elementIdentificationPollingDelay milliseconds.</li>
+ * <li>EXPONENTIAL_BACKOFF: starts with elementIdentificationPollingDelay and doubles it after every attempt, up to
+ * elementIdentificationMaximumPollingDelay.</li>
+ * <li>ADAPTIVE: sleeps until the time it usually takes the target locator to appear, then backs off exponentially.
+ * Behaves like EXPONENTIAL_BACKOFF until enough history is recorded for that locator.</li>
+ * </ul>
+ */
+public class ElementPollingPolicy {
+    private static final PollingStrategy POLLING_STRATEGY = PollingStrategy.valueOf(System.getProperty("elementIdentificationPollingStrategy", "FIXED").trim().toUpperCase());
+    private static final long POLLING_DELAY = Long.parseLong(System.getProperty("elementIdentificationPollingDelay", "100").trim()); // milliseconds
+    private static final long MAXIMUM_POLLING_DELAY = Long.parseLong(System.getProperty("elementIdentificationMaximumPollingDelay", "1000").trim()); // milliseconds
+    private static final int MINIMUM_SAMPLES_FOR_ADAPTIVE_POLLING = 5;
+    private static final int MAXIMUM_RECORDED_LOCATORS = 1024;
+    private static final Map<String, TimeToAppearHistogram> timeToAppearHistograms = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TimeToAppearHistogram> eldest) {
+            // dynamic locators would otherwise grow the history for the whole lifetime of the JVM
+            return size() > MAXIMUM_RECORDED_LOCATORS;
+        }
+    });
+
+    private ElementPollingPolicy() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates a FluentWait whose polling delay follows the configured polling strategy.
+     *
+     * @param input          the input value to pass to the evaluated conditions, usually the current driver
+     * @param elementLocator the locator of the webElement being waited for, used by the adaptive strategy
+     * @param timeout        the maximum amount of time to wait
+     * @param <T>            the input type for each condition used with this instance
+     * @return a new FluentWait instance
+     */
+    public static <T> FluentWait<T> createWait(T input, By elementLocator, Duration timeout) {
+        return new FluentWait<>(input, Clock.systemDefaultZone(), new PollingSleeper(elementLocator))
+                .withTimeout(timeout)
+                .pollingEvery(Duration.ofMillis(POLLING_DELAY));
+    }
+
+    /**
+     * Records how long it took the target locator to match an element, to be used by the adaptive strategy.
+     *
+     * @param elementLocator      the locator of the webElement that was found
+     * @param timeToAppearInMillis the time between starting the wait and finding the element
+     */
+    public static void recordTimeToAppear(By elementLocator, long timeToAppearInMillis) {
+        if (elementLocator != null) {
+            timeToAppearHistograms.computeIfAbsent(elementLocator.toString(), locator -> new TimeToAppearHistogram())
+                    .record(timeToAppearInMillis);
+        }
+    }
+
+    /**
+     * @param elementLocator the locator of the webElement under test
+     * @return the recorded time-to-appear histogram of the target locator, or null if it was never found
+     */
+    public static TimeToAppearHistogram getTimeToAppearHistogram(By elementLocator) {
+        return elementLocator == null ? null : timeToAppearHistograms.get(elementLocator.toString());
+    }
+
+    public enum PollingStrategy {
+        FIXED, EXPONENTIAL_BACKOFF, ADAPTIVE
+    }
+
+    /**
+     * A thread-safe histogram of the time it took a locator to match an element, using exponentially growing buckets.
+     */
+    public static class TimeToAppearHistogram {
+        // upper bounds of the buckets in milliseconds, the last bucket holds everything above the last bound
+        private static final long[] BUCKET_UPPER_BOUNDS = {0, 50, 100, 200, 400, 800, 1600, 3200, 6400, 12800, 25600};
+        private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_UPPER_BOUNDS.length + 1);
+
+        void record(long timeToAppearInMillis) {
+            var bucket = 0;
+            while (bucket < BUCKET_UPPER_BOUNDS.length && timeToAppearInMillis > BUCKET_UPPER_BOUNDS[bucket]) {
+                bucket++;
+            }
+            bucketCounts.incrementAndGet(bucket);
+        }
+
+        /**
+         * @return the number of recorded samples
+         */
+        public long getSampleCount() {
+            long sampleCount = 0;
+            for (var bucket = 0; bucket < bucketCounts.length(); bucket++) {
+                sampleCount += bucketCounts.get(bucket);
+            }
+            return sampleCount;
+        }
+
+        /**
+         * @param percentile a value between 0 and 1, for example 0.5 for the median
+         * @return the upper bound of the bucket that contains the target percentile in milliseconds, or -1 if there
+         * are no samples or the percentile falls beyond the last bucket
+         */
+        public long getPercentile(double percentile) {
+            var sampleCount = getSampleCount();
+            if (sampleCount == 0) {
+                return -1;
+            }
+            var targetCount = (long) Math.ceil(sampleCount * percentile);
+            long cumulativeCount = 0;
+            for (var bucket = 0; bucket < BUCKET_UPPER_BOUNDS.length; bucket++) {
+                cumulativeCount += bucketCounts.get(bucket);
+                if (cumulativeCount >= targetCount) {
+                    return BUCKET_UPPER_BOUNDS[bucket];
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public String toString() {
+            var histogram = new StringBuilder();
+            for (var bucket = 0; bucket < bucketCounts.length(); bucket++) {
+                histogram.append(bucket < BUCKET_UPPER_BOUNDS.length ? "<=" + BUCKET_UPPER_BOUNDS[bucket] : ">" + BUCKET_UPPER_BOUNDS[BUCKET_UPPER_BOUNDS.length - 1])
+                        .append("ms: ").append(bucketCounts.get(bucket));
+                if (bucket < bucketCounts.length() - 1) {
+                    histogram.append(", ");
+                }
+            }
+            return histogram.toString();
+        }
+    }
+
+    /**
+     * Replaces the fixed interval requested by FluentWait with one that follows the configured polling strategy.
+     * A new instance is created for every wait, as it keeps track of the attempts made by that wait.
+     */
+    private static class PollingSleeper implements Sleeper {
+        private final By elementLocator;
+        private final long startTime = System.currentTimeMillis();
+        private int numberOfAttempts = 0;
+
+        private PollingSleeper(By elementLocator) {
+            this.elementLocator = elementLocator;
+        }
+
+        @Override
+        public void sleep(Duration duration) throws InterruptedException {
+            Thread.sleep(getNextPollingDelay());
+            numberOfAttempts++;
+        }
+
+        private long getNextPollingDelay() {
+            return switch (POLLING_STRATEGY) {
+                case FIXED -> POLLING_DELAY;
+                case EXPONENTIAL_BACKOFF -> getExponentialBackoffDelay();
+                case ADAPTIVE -> {
+                    var histogram = getTimeToAppearHistogram(elementLocator);
+                    if (histogram == null || histogram.getSampleCount() < MINIMUM_SAMPLES_FOR_ADAPTIVE_POLLING) {
+                        yield getExponentialBackoffDelay();
+                    }
+                    // sleep until the element is expected to appear, then back off in case it is late
+                    var remainingTimeToAppear = histogram.getPercentile(0.5) - (System.currentTimeMillis() - startTime);
+                    if (remainingTimeToAppear > 0) {
+                        yield Math.max(POLLING_DELAY, Math.min(remainingTimeToAppear, MAXIMUM_POLLING_DELAY));
+                    }
+                    yield getExponentialBackoffDelay();
+                }
+            };
+        }
+
+        private long getExponentialBackoffDelay() {
+            // the shift is capped to avoid overflowing for long waits
+            return Math.min(POLLING_DELAY << Math.min(numberOfAttempts, 20), MAXIMUM_POLLING_DELAY);
+        }
+    }
+}
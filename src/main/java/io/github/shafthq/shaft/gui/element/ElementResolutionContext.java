@@ -0,0 +1,128 @@
+package io.github.shafthq.shaft.gui.element;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Holds the element resolved by the element action that is currently running on this thread, so that the hover,
+ * screenshot, clickable-wait, and reporting steps of that action reuse a single lookup of the target locator.
+ * <p>
+ * The cached element is only dropped, and therefore resolved again, after it has thrown a
+ * {@link StaleElementReferenceException}.
+ */
+public class ElementResolutionContext implements AutoCloseable {
+    private static final ThreadLocal<ElementResolutionContext> currentContext = new ThreadLocal<>();
+    private final By elementLocator;
+    private final ElementResolutionContext parentContext;
+    private ElementInformation elementInformation = null;
+    private boolean checkedForVisibility = false;
+
+    private ElementResolutionContext(By elementLocator, ElementResolutionContext parentContext) {
+        this.elementLocator = elementLocator;
+        this.parentContext = parentContext;
+    }
+
+    /**
+     * Opens a resolution context for the target locator. Must be closed when the action is done, preferably using
+     * try-with-resources.
+     *
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @return the newly opened context
+     */
+    public static ElementResolutionContext open(By elementLocator) {
+        var context = new ElementResolutionContext(elementLocator, currentContext.get());
+        currentContext.set(context);
+        return context;
+    }
+
+    /**
+     * Returns the cached element information for the target locator, if the current action already resolved it.
+     *
+     * @param elementLocator     the locator of the webElement under test
+     * @param checkForVisibility whether the caller requires the element to have been checked for visibility
+     * @return the cached element information, or null if there is nothing reusable
+     */
+    static ElementInformation lookup(By elementLocator, boolean checkForVisibility) {
+        var context = getContextFor(elementLocator);
+        if (context == null || context.elementInformation == null || (checkForVisibility && !context.checkedForVisibility)) {
+            return null;
+        }
+        return context.elementInformation;
+    }
+
+    /**
+     * Caches the element information for the target locator if there is an open context for it and at least one
+     * element was found.
+     *
+     * @param elementLocator     the locator of the webElement under test
+     * @param checkForVisibility whether the element was checked for visibility while it was being resolved
+     * @param elementInformation the element information as returned by waitForElementPresence
+     */
+    static void store(By elementLocator, boolean checkForVisibility, ElementInformation elementInformation) {
+        var context = getContextFor(elementLocator);
+        if (context != null && elementInformation.getFirstElement() != null
+                && elementInformation.getNumberOfFoundElements() >= 1) {
+            context.elementInformation = elementInformation;
+            context.checkedForVisibility = checkForVisibility;
+        }
+    }
+
+    /**
+     * Returns the cached element for the target locator, if any.
+     *
+     * @param elementLocator the locator of the webElement under test
+     * @return the cached element, or null if the element is not resolved yet
+     */
+    public static WebElement getElement(By elementLocator) {
+        var context = getContextFor(elementLocator);
+        if (context == null || context.elementInformation == null) {
+            return null;
+        }
+        return context.elementInformation.getFirstElement();
+    }
+
+    /**
+     * Drops the cached element for the target locator so that the next lookup resolves it again.
+     *
+     * @param elementLocator the locator of the webElement under test
+     */
+    public static void invalidate(By elementLocator) {
+        ElementHandleCache.invalidate(elementLocator);
+        var context = getContextFor(elementLocator);
+        if (context != null) {
+            context.elementInformation = null;
+            context.checkedForVisibility = false;
+        }
+    }
+
+    /**
+     * Drops the cached element for the target locator only if the throwable shows that it went stale.
+     *
+     * @param elementLocator the locator of the webElement under test
+     * @param throwable      the exception that was thrown while using the cached element
+     */
+    public static void invalidateIfStale(By elementLocator, Throwable throwable) {
+        if (throwable instanceof StaleElementReferenceException) {
+            invalidate(elementLocator);
+        }
+    }
+
+    private static ElementResolutionContext getContextFor(By elementLocator) {
+        var context = currentContext.get();
+        if (context != null && elementLocator != null && elementLocator.equals(context.elementLocator)) {
+            return context;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (parentContext != null) {
+            currentContext.set(parentContext);
+        } else {
+            currentContext.remove();
+        }
+    }
+}
@@ -120,7 +120,7 @@ public class FluentElementActions {
             var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
             StringBuilder elementSelectedText = new StringBuilder();
             try {
-                new Select(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1))).getAllSelectedOptions().forEach(selectedOption -> elementSelectedText.append(selectedOption.getText()));
+                new Select(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement()).getAllSelectedOptions().forEach(selectedOption -> elementSelectedText.append(selectedOption.getText()));
                 passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementSelectedText.toString().trim(), null, elementName);
                 return elementSelectedText.toString().trim();
             } catch (UnexpectedTagNameException rootCauseException) {
@@ -173,20 +173,22 @@ public class FluentElementActions {
             new TouchActions(DriverFactoryHelper.getDriver().get()).tap(elementLocator);
         } else {
             // Waits for the element to be clickable, and then clicks it.
-            try {
+            // the element is resolved once and reused by all the steps of this action
+            try (var ignored = ElementResolutionContext.open(elementLocator)) {
                 var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
                 try {
                     // adding hover before clicking an element to enable styles to show in the
                     // execution screenshots and to solve issues clicking on certain elements.
-                    (new Actions(DriverFactoryHelper.getDriver().get())).moveToElement(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1))).perform();
+                    (new Actions(DriverFactoryHelper.getDriver().get())).moveToElement(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement()).perform();
                 } catch (Exception t) {
+                    ElementResolutionContext.invalidateIfStale(elementLocator, t);
 //                    ReportManagerHelper.logDiscrete(t);
                 }
                 List<Object> screenshot = takeScreenshot(DriverFactoryHelper.getDriver().get(), elementLocator, "click", null, true);
                 // takes screenshot before clicking the element out of view
                 // wait for element to be clickable
                 try {
-                    WebElement element = (WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1);
+                    WebElement element = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement();
                     //noinspection ResultOfMethodCallIgnored
                     Boolean.FALSE.equals(ElementActionsHelper.waitForElementToBeClickable(DriverFactoryHelper.getDriver().get(), elementLocator, "click"));
                 } catch (Exception exception) {
@@ -264,7 +266,7 @@ public class FluentElementActions {
         try {
             var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
             List<Object> screenshot = takeScreenshot(DriverFactoryHelper.getDriver().get(), elementLocator, "clickAndHold", null, true);
-            WebElement element = (WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1);
+            WebElement element = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement();
             if (Boolean.FALSE.equals(ElementActionsHelper.waitForElementToBeClickable(DriverFactoryHelper.getDriver().get(), elementLocator, "clickAndHold"))) {
                 failAction(DriverFactoryHelper.getDriver().get(), "element is not clickable", elementLocator);
             }
@@ -325,7 +327,7 @@ public class FluentElementActions {
             List<List<Object>> attachments = new LinkedList<>();
             attachments.add(screenshot);
             try {
-                (new Actions(DriverFactoryHelper.getDriver().get())).moveToElement(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1))).doubleClick().perform();
+                (new Actions(DriverFactoryHelper.getDriver().get())).moveToElement(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement()).doubleClick().perform();
             } catch (Exception e) {
                 failAction(DriverFactoryHelper.getDriver().get(), elementLocator, e);
             }
@@ -360,7 +362,7 @@ public class FluentElementActions {
             // replaced canFindUniqueElementForInternalUse, with countFoundElements for
             // destinationElement to bypass the check for element visibility
             // get source element start location
-            String startLocation = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).get(1)).getLocation().toString();
+            String startLocation = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).getFirstElement().getLocation().toString();
             // attempt to perform drag and drop
             try {
                 ElementActionsHelper.dragAndDropUsingJavascript(DriverFactoryHelper.getDriver().get(), sourceElementLocator, destinationElementLocator);
@@ -369,7 +371,7 @@ public class FluentElementActions {
                 ReportManagerHelper.logDiscrete(rootCauseException);
             }
             // get source element end location
-            String endLocation = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).get(1)).getLocation().toString();
+            String endLocation = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).getFirstElement().getLocation().toString();
             String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
             if (!endLocation.equals(startLocation)) {
                 passAction(DriverFactoryHelper.getDriver().get(), sourceElementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), reportMessage, null, elementName);
@@ -383,7 +385,7 @@ public class FluentElementActions {
                     failAction(DriverFactoryHelper.getDriver().get(), sourceElementLocator, rootCauseException);
                 }
                 // get source element end location
-                endLocation = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).get(1)).getLocation().toString();
+                endLocation = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).getFirstElement().getLocation().toString();
                 if (!endLocation.equals(startLocation)) {
                     passAction(DriverFactoryHelper.getDriver().get(), sourceElementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), reportMessage, null, elementName);
                 } else {
@@ -416,16 +418,16 @@ public class FluentElementActions {
     public FluentElementActions dragAndDropByOffset(By sourceElementLocator, int xOffset, int yOffset) {
         try {
             var elementName = getElementName(DriverFactoryHelper.getDriver().get(), sourceElementLocator);
-            WebElement sourceElement = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).get(1));
+            WebElement sourceElement = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).getFirstElement();
             String startLocation = sourceElement.getLocation().toString();
             // attempt to perform drag and drop
             try {
-                (new Actions(DriverFactoryHelper.getDriver().get())).dragAndDropBy(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).get(1)), xOffset, yOffset).build()
+                (new Actions(DriverFactoryHelper.getDriver().get())).dragAndDropBy(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).getFirstElement(), xOffset, yOffset).build()
                         .perform();
             } catch (Exception rootCauseException) {
                 failAction(DriverFactoryHelper.getDriver().get(), sourceElementLocator, rootCauseException);
             }
-            String endLocation = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).get(1)).getLocation().toString();
+            String endLocation = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), sourceElementLocator).getFirstElement().getLocation().toString();
             if (!endLocation.equals(startLocation)) {
                 passAction(DriverFactoryHelper.getDriver().get(), sourceElementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), "Start point: " + startLocation + ", End point: " + endLocation, null, elementName);
             } else {
@@ -479,7 +481,7 @@ public class FluentElementActions {
         try {
             var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
             try {
-                String elementAttribute = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getAttribute(attributeName);
+                String elementAttribute = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getAttribute(attributeName);
                 passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementAttribute, null, elementName);
                 return elementAttribute;
             } catch (UnsupportedCommandException rootCauseException) {
@@ -497,6 +499,44 @@ public class FluentElementActions {
         return null;
     }
 
+    /**
+     * Retrieves the value of the target attribute from all the elements that match the locator, using a single
+     * browser call where possible, and reports them in a single step.
+     *
+     * @param elementLocator the locator of the webElements under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @param attributeName  the target attribute of the webElements under test
+     * @return the values of the target attribute, in document order
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getAttributes(By elementLocator, String attributeName) {
+        try {
+            // wait for the elements to be present without requiring the locator to be unique
+            var matchingElementsInformation = ElementActionsHelper.getMatchingElementsInformation(DriverFactoryHelper.getDriver().get(), elementLocator, 1, false);
+            if (matchingElementsInformation.getNumberOfFoundElements() == 0) {
+                var rootCauseException = matchingElementsInformation.getFailureCause() != null ? matchingElementsInformation.getFailureCause() : new NoSuchElementException(formatLocatorToString(elementLocator));
+                failAction(DriverFactoryHelper.getDriver().get(), null, rootCauseException);
+            }
+            List<String> elementAttributes;
+            if (ElementActionsHelper.readElementsUsingJavaScript(DriverFactoryHelper.getDriver().get(), "attributes", List.of(elementLocator), attributeName) instanceof List<?> scriptResult) {
+                elementAttributes = new ArrayList<>((List<String>) scriptResult);
+            } else {
+                elementAttributes = new ArrayList<>();
+                DriverFactoryHelper.getDriver().get().findElements(elementLocator).forEach(element -> elementAttributes.add(element.getAttribute(attributeName)));
+            }
+            passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), String.valueOf(elementAttributes), null, formatLocatorToString(elementLocator));
+            return elementAttributes;
+        } catch (Throwable throwable) {
+            // has to be throwable to catch assertion errors in case element was not found
+            if (Throwables.getRootCause(throwable).getClass().getName().equals(org.openqa.selenium.NoSuchElementException.class.getName())) {
+                ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, throwable);
+            } else {
+                ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), elementLocator, throwable);
+            }
+        }
+        return null;
+    }
+
     /**
      * Get the value of a given CSS property. Color values should be returned as
      * RGBA strings, so, for example if the "background-color" property is SetProperty as
@@ -515,7 +555,7 @@ public class FluentElementActions {
     public String getCSSProperty(By elementLocator, String propertyName) {
         try {
             var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
-            String elementCssProperty = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getCssValue(propertyName);
+            String elementCssProperty = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getCssValue(propertyName);
             passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementCssProperty, null, elementName);
             return elementCssProperty;
         } catch (Throwable throwable) {
@@ -597,16 +637,7 @@ public class FluentElementActions {
     public String getText(By elementLocator) {
         try {
             var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
-            String elementText = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getText();
-            if ((elementText == null || elementText.trim().equals("")) && !DriverFactoryHelper.isMobileNativeExecution()) {
-                elementText = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getAttribute(ElementActionsHelper.TextDetectionStrategy.CONTENT.getValue());
-            }
-            if ((elementText == null || elementText.trim().equals("")) && !DriverFactoryHelper.isMobileNativeExecution()) {
-                elementText = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).getAttribute(ElementActionsHelper.TextDetectionStrategy.VALUE.getValue());
-            }
-            if (elementText == null) {
-                elementText = "";
-            }
+            String elementText = readElementText(elementLocator);
             passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementText, null, elementName);
             return elementText;
         } catch (Throwable throwable) {
@@ -622,6 +653,83 @@ public class FluentElementActions {
         return null;
     }
 
+    /**
+     * Retrieves the text of many elements at once and reports them in a single step. The texts are read using one
+     * browser call, except for elements that are not found yet, or whose locators cannot be evaluated by a script,
+     * which are waited for and read one by one.
+     *
+     * @param elementLocators the locators of the webElements under test (By xpath, id,
+     *                        selector, name ...etc)
+     * @return the text values of the target webElements, in the same order as their locators
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getTexts(List<By> elementLocators) {
+        try {
+            List<String> elementTexts = new ArrayList<>(Collections.nCopies(elementLocators.size(), null));
+            if (ElementActionsHelper.readElementsUsingJavaScript(DriverFactoryHelper.getDriver().get(), "texts", elementLocators, null) instanceof List<?> scriptResult) {
+                elementTexts = new ArrayList<>((List<String>) scriptResult);
+            }
+            for (var i = 0; i < elementLocators.size(); i++) {
+                if (elementTexts.get(i) == null) {
+                    elementTexts.set(i, readElementText(elementLocators.get(i)));
+                }
+            }
+            passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), String.valueOf(elementTexts), null, elementLocators.size() + " elements");
+            return elementTexts;
+        } catch (Throwable throwable) {
+            // has to be throwable to catch assertion errors in case element was not found
+            ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, throwable);
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the text of all the cells of the target table, row by row, using a single browser call where
+     * possible, and reports them in a single step.
+     *
+     * @param tableLocator the locator of the table under test (By xpath, id,
+     *                     selector, name ...etc)
+     * @return a list of rows, each of which is a list of the texts of its cells
+     */
+    @SuppressWarnings("unchecked")
+    public List<List<String>> getTableData(By tableLocator) {
+        try (var ignored = ElementResolutionContext.open(tableLocator)) {
+            var elementName = getElementName(DriverFactoryHelper.getDriver().get(), tableLocator);
+            var table = ElementActionsHelper.identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), tableLocator).getFirstElement();
+            List<List<String>> tableData = new ArrayList<>();
+            if (ElementActionsHelper.readElementsUsingJavaScript(DriverFactoryHelper.getDriver().get(), "table", List.of(tableLocator), null) instanceof List<?> scriptResult) {
+                scriptResult.forEach(row -> tableData.add(new ArrayList<>((List<String>) row)));
+            } else {
+                table.findElements(By.tagName("tr")).forEach(row ->
+                        tableData.add(row.findElements(By.xpath("./th|./td")).stream().map(WebElement::getText).toList()));
+            }
+            passAction(DriverFactoryHelper.getDriver().get(), tableLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), String.valueOf(tableData), null, elementName);
+            return tableData;
+        } catch (Throwable throwable) {
+            // has to be throwable to catch assertion errors in case element was not found
+            if (Throwables.getRootCause(throwable).getClass().getName().equals(org.openqa.selenium.NoSuchElementException.class.getName())) {
+                ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, throwable);
+            } else {
+                ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), tableLocator, throwable);
+            }
+        }
+        return null;
+    }
+
+    private String readElementText(By elementLocator) {
+        String elementText = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getText();
+        if ((elementText == null || elementText.trim().equals("")) && !DriverFactoryHelper.isMobileNativeExecution()) {
+            elementText = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getAttribute(ElementActionsHelper.TextDetectionStrategy.CONTENT.getValue());
+        }
+        if ((elementText == null || elementText.trim().equals("")) && !DriverFactoryHelper.isMobileNativeExecution()) {
+            elementText = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().getAttribute(ElementActionsHelper.TextDetectionStrategy.VALUE.getValue());
+        }
+        if (elementText == null) {
+            elementText = "";
+        }
+        return elementText;
+    }
+
     /**
      * Returns the unique handle for currently active window. This can be used to
      * switch to this window at a later time.
@@ -656,10 +764,10 @@ public class FluentElementActions {
      * @return a self-reference to be used to chain actions
      */
     public FluentElementActions hover(By elementLocator) {
-        try {
+        try (var ignored = ElementResolutionContext.open(elementLocator)) {
             var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
             try {
-                (new Actions(DriverFactoryHelper.getDriver().get())).moveToElement(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1))).perform();
+                (new Actions(DriverFactoryHelper.getDriver().get())).moveToElement(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement()).perform();
             } catch (Exception rootCauseException) {
                 failAction(DriverFactoryHelper.getDriver().get(), elementLocator, rootCauseException);
             }
@@ -706,7 +814,7 @@ public class FluentElementActions {
             var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
             List<Object> screenshot = takeScreenshot(DriverFactoryHelper.getDriver().get(), elementLocator, "keyPress", null, true);
             // takes screenshot before moving the element out of view
-            ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).sendKeys(key);
+            ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().sendKeys(key);
             passAction(DriverFactoryHelper.getDriver().get(), elementLocator, key.name(), screenshot, elementName);
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
@@ -736,12 +844,12 @@ public class FluentElementActions {
                 failAction(DriverFactoryHelper.getDriver().get(), text, elementLocator);
             }
             boolean isOptionFound = false;
-            var availableOptionsList = (new Select(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)))).getOptions();
+            var availableOptionsList = (new Select(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement())).getOptions();
             for (int i = 0; i < availableOptionsList.size(); i++) {
                 String visibleText = availableOptionsList.get(i).getText();
                 String value = availableOptionsList.get(i).getAttribute("value");
                 if (visibleText.trim().equals(text) || value.trim().equals(text)) {
-                    (new Select(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)))).selectByIndex(i);
+                    (new Select(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement())).selectByIndex(i);
                     passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), text, null, elementName);
                     isOptionFound = true;
                     break;
@@ -818,7 +926,7 @@ public class FluentElementActions {
      */
     public FluentElementActions switchToIframe(By elementLocator) {
         try {
-            DriverFactoryHelper.getDriver().get().switchTo().frame(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)));
+            DriverFactoryHelper.getDriver().get().switchTo().frame(ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement());
             // note to self: remove elementLocator in case of bug in screenshot manager
             boolean discreetLoggingState = ReportManagerHelper.getDiscreteLogging();
             ReportManagerHelper.setDiscreteLogging(true);
@@ -870,8 +978,8 @@ public class FluentElementActions {
      * @return a self-reference to be used to chain actions
      */
     public FluentElementActions type(By elementLocator, String text) {
-        try {
-            var elementInformation = ElementInformation.fromList(identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementLocator));
+        try (var ignored = ElementResolutionContext.open(elementLocator)) {
+            var elementInformation = identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementLocator);
             String actualResult = typeWrapper(elementInformation, text);
             var elementName = elementInformation.getElementName();
             if (actualResult != null && actualResult.equals(text)) {
@@ -907,7 +1015,7 @@ public class FluentElementActions {
         try {
             if (text != null) {
                 var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
-                ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).sendKeys(text);
+                ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().sendKeys(text);
                 passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), text, null, elementName);
             }
         } catch (Throwable throwable) {
@@ -943,14 +1051,14 @@ public class FluentElementActions {
             List<Object> screenshot = takeScreenshot(DriverFactoryHelper.getDriver().get(), elementLocator, "typeFileLocationForUpload", null, true);
             // takes screenshot before clicking the element out of view
             try {
-                ((WebElement) ElementActionsHelper.identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).sendKeys(internalAbsoluteFilePath);
+                ElementActionsHelper.identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().sendKeys(internalAbsoluteFilePath);
             } catch (InvalidArgumentException e) {
                 //this happens when the file path doesn't exist
                 failAction(DriverFactoryHelper.getDriver().get(), internalAbsoluteFilePath, elementLocator, e);
             } catch (ElementNotInteractableException | NoSuchElementException exception1) {
                 ElementActionsHelper.changeWebElementVisibilityUsingJavascript(DriverFactoryHelper.getDriver().get(), elementLocator, true);
                 try {
-                    ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).sendKeys(internalAbsoluteFilePath);
+                    ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().sendKeys(internalAbsoluteFilePath);
                 } catch (WebDriverException rootCauseException) {
                     rootCauseException.addSuppressed(exception1);
                     // happened for the first time on MacOSX due to incorrect file path separator
@@ -990,9 +1098,9 @@ public class FluentElementActions {
      */
     public FluentElementActions typeSecure(By elementLocator, String text) {
         try {
-            var elementInformation = ElementInformation.fromList(identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementLocator));
+            var elementInformation = identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementLocator);
             String actualResult = typeWrapper(elementInformation, text);
-            var elementName = (String) elementInformation.getElementName();
+            var elementName = elementInformation.getElementName();
             if (actualResult != null && actualResult.equals(text)) {
                 passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), ElementActionsHelper.OBFUSCATED_STRING.repeat(text.length()), null, elementName);
             } else if (actualResult == null) {
@@ -1027,10 +1135,10 @@ public class FluentElementActions {
         ReportManager.logDiscrete("Waiting for element to be present; elementLocator \"" + elementLocator + "\", isExpectedToBeVisible\"" + isExpectedToBeVisible + "\"...");
         String reportMessage = "waited for the element's state of visibility to be (" + isExpectedToBeVisible
                 + "). Element locator (" + formatLocatorToString(elementLocator) + ")";
-        int elementCountIgnoringVisibility = Integer.parseInt(getMatchingElementsInformation(DriverFactoryHelper.getDriver().get(), elementLocator, 1, false).get(0).toString());
+        int elementCountIgnoringVisibility = getMatchingElementsInformation(DriverFactoryHelper.getDriver().get(), elementLocator, 1, false).getNumberOfFoundElements();
         try {
             if (elementCountIgnoringVisibility >= 1) {
-                boolean isDisplayed = ((WebElement) identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).isDisplayed();
+                boolean isDisplayed = identifyUniqueElementIgnoringVisibility(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().isDisplayed();
                 //element is present
                 if (isExpectedToBeVisible == isDisplayed) {
                     //either expected to be visible and is displayed, or not expected to be visible and not displayed
@@ -1059,6 +1167,60 @@ public class FluentElementActions {
         return this;
     }
 
+    /**
+     * Waits dynamically for all the target elements to be present in DOM and displayed on the current page. All the
+     * elements are checked in the same polling loop, so the wait takes as long as the slowest element instead of the
+     * sum of the waits of all the elements.
+     *
+     * @param elementLocators the locators of the webElements under test (By xpath,
+     *                        id, selector, name ...etc)
+     * @return a self-reference to be used to chain actions
+     */
+    public FluentElementActions waitForAll(By... elementLocators) {
+        var locators = Arrays.asList(elementLocators);
+        String reportMessage = "waited for all of the elements " + locators.stream().map(ElementActionsHelper::formatLocatorToString).toList() + " to be displayed";
+        try {
+            var displayedElements = ElementActionsHelper.waitForElementsToBeDisplayed(DriverFactoryHelper.getDriver().get(), locators, true);
+            var firstMissingElementIndex = displayedElements.indexOf(null);
+            if (firstMissingElementIndex == -1) {
+                passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), reportMessage, null, locators.size() + " elements");
+            } else {
+                failAction(DriverFactoryHelper.getDriver().get(), reportMessage, locators.get(firstMissingElementIndex));
+            }
+        } catch (Throwable throwable) {
+            // has to be throwable to catch assertion errors in case element was not found
+            failAction(DriverFactoryHelper.getDriver().get(), reportMessage, null, throwable);
+        }
+        return this;
+    }
+
+    /**
+     * Waits dynamically for any of the target elements to be present in DOM and displayed on the current page. All
+     * the elements are checked in the same polling loop, which stops as soon as any of them is displayed.
+     *
+     * @param elementLocators the locators of the webElements under test (By xpath,
+     *                        id, selector, name ...etc)
+     * @return the locator of the first displayed element, in the same order as the locators
+     */
+    public By waitForAny(By... elementLocators) {
+        var locators = Arrays.asList(elementLocators);
+        String reportMessage = "waited for any of the elements " + locators.stream().map(ElementActionsHelper::formatLocatorToString).toList() + " to be displayed";
+        try {
+            var displayedElements = ElementActionsHelper.waitForElementsToBeDisplayed(DriverFactoryHelper.getDriver().get(), locators, false);
+            for (var i = 0; i < locators.size(); i++) {
+                if (displayedElements.get(i) != null) {
+                    passAction(DriverFactoryHelper.getDriver().get(), locators.get(i), Thread.currentThread().getStackTrace()[1].getMethodName(), reportMessage, null, getElementName(DriverFactoryHelper.getDriver().get(), locators.get(i)));
+                    return locators.get(i);
+                }
+            }
+            failAction(DriverFactoryHelper.getDriver().get(), reportMessage, null);
+        } catch (Throwable throwable) {
+            // has to be throwable to catch assertion errors in case element was not found
+            failAction(DriverFactoryHelper.getDriver().get(), reportMessage, null, throwable);
+        }
+        return null;
+    }
+
     @Deprecated
     public FluentElementActions waitForElementToBePresent(By elementLocator) {
         return waitToBeReady(elementLocator, true);
@@ -1141,7 +1303,7 @@ public class FluentElementActions {
     public boolean isElementDisplayed(By elementLocator) {
         try {
             var elementName = getElementName(DriverFactoryHelper.getDriver().get(), elementLocator);
-            boolean isDisplayed = ((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).get(1)).isDisplayed();
+            boolean isDisplayed = ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), elementLocator).getFirstElement().isDisplayed();
             passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, elementName);
             return isDisplayed;
         } catch (Throwable throwable) {
@@ -1,29 +1,124 @@
 package io.github.shafthq.shaft.gui.image;
 
+import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.tools.io.ReportManagerHelper;
+
 import javax.imageio.*;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.metadata.IIOMetadataNode;
 import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
 import java.util.Iterator;
-
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Assembles an animated GIF on a dedicated encoder thread, so that the test thread only hands over the raw frames.
+ * <p>
+ * Frames are prepared by the given function, mapped to a palette that is shared by all frames instead of being
+ * quantized one by one, and written in the order they were appended. At most {@value MAXIMUM_QUEUED_FRAMES} frames
+ * wait in the queue, after which appending blocks until the encoder catches up.
+ */
 @SuppressWarnings("ConstantValue")
 public class AnimatedGifManager {
-    private static final ThreadLocal<ImageWriter> gifWriter = new ThreadLocal<>();
-    private static final ThreadLocal<ImageWriteParam> imageWriteParam = new ThreadLocal<>();
-    private static final ThreadLocal<IIOMetadata> imageMetaData = new ThreadLocal<>();
+    private static final int MAXIMUM_QUEUED_FRAMES = 32;
+    private static final int CLOSE_TIMEOUT = 60; // seconds
+    private static final IndexColorModel SHARED_PALETTE = createSharedPalette();
+    private final ImageOutputStream outputStream;
+    private final int timeBetweenFramesMS;
+    private final int initialFrameWidth;
+    private final int initialFrameHeight;
+    private final Function<byte[], BufferedImage> framePreparer;
+    private final Semaphore queueCapacity = new Semaphore(MAXIMUM_QUEUED_FRAMES);
+    private final ExecutorService encoder = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "SHAFT-AnimatedGifEncoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ImageWriter gifWriter;
+    private ImageWriteParam imageWriteParam;
+    private IIOMetadata imageMetaData;
 
     /**
-     * Creates a new GifSequenceWriter
+     * Creates a new GifSequenceWriter, which starts writing to the output stream once the first frame is encoded
      *
      * @param outputStream        the ImageOutputStream to be written to
-     * @param imageType           one of the imageTypes specified in BufferedImage
      * @param timeBetweenFramesMS the time between frames in milliseconds
-     * @throws IOException if no gif ImageWriters are found
+     * @param initialFrameWidth   the width of the blank frame that sets the size of the GIF
+     * @param initialFrameHeight  the height of the blank frame that sets the size of the GIF
+     * @param framePreparer       the function that decodes, scales, and decorates a raw frame, called on the encoder
+     *                            thread
      */
-    protected AnimatedGifManager(ImageOutputStream outputStream, int imageType, int timeBetweenFramesMS) throws IOException {
-        initialize(outputStream, imageType, timeBetweenFramesMS);
+    protected AnimatedGifManager(ImageOutputStream outputStream, int timeBetweenFramesMS, int initialFrameWidth,
+                                 int initialFrameHeight, Function<byte[], BufferedImage> framePreparer) {
+        this.outputStream = outputStream;
+        this.timeBetweenFramesMS = timeBetweenFramesMS;
+        this.initialFrameWidth = initialFrameWidth;
+        this.initialFrameHeight = initialFrameHeight;
+        this.framePreparer = framePreparer;
+    }
+
+    /**
+     * Queues a raw frame to be encoded on the encoder thread.
+     *
+     * @param frame the screenshot as returned by the driver
+     */
+    protected void appendFrame(byte[] frame) {
+        try {
+            queueCapacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            encoder.execute(() -> {
+                try {
+                    encodeFrame(frame);
+                } catch (Exception e) {
+                    ReportManagerHelper.logDiscrete(e);
+                } finally {
+                    queueCapacity.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the GIF was already closed
+            queueCapacity.release();
+        }
+    }
+
+    private static IndexColorModel createSharedPalette() {
+        // a uniform 6x7x6 color cube and 4 grays
+        var reds = new byte[256];
+        var greens = new byte[256];
+        var blues = new byte[256];
+        var index = 0;
+        for (var red = 0; red < 6; red++) {
+            for (var green = 0; green < 7; green++) {
+                for (var blue = 0; blue < 6; blue++) {
+                    reds[index] = (byte) (red * 255 / 5);
+                    greens[index] = (byte) (green * 255 / 6);
+                    blues[index] = (byte) (blue * 255 / 5);
+                    index++;
+                }
+            }
+        }
+        for (var gray = 1; gray <= 4; gray++) {
+            reds[index] = greens[index] = blues[index] = (byte) (gray * 255 / 5);
+            index++;
+        }
+        return new IndexColorModel(8, 256, reds, greens, blues);
+    }
+
+    private static BufferedImage toSharedPalette(BufferedImage image) {
+        var indexedImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_INDEXED, SHARED_PALETTE);
+        var graphics = indexedImage.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return indexedImage;
     }
 
     /**
@@ -62,31 +157,68 @@ public class AnimatedGifManager {
         return (node);
     }
 
-    protected void writeToSequence(RenderedImage img) throws IOException {
-        gifWriter.get().writeToSequence(new IIOImage(img, null, imageMetaData.get()), imageWriteParam.get());
+    private void encodeFrame(byte[] frame) throws IOException {
+        var image = toSharedPalette(framePreparer.apply(frame));
+        if (gifWriter == null) {
+            initialize(ImageTypeSpecifier.createFromRenderedImage(image));
+
+            // draw initial blank image to set the size of the GIF...
+            var initialImage = new BufferedImage(initialFrameWidth, initialFrameHeight, BufferedImage.TYPE_BYTE_INDEXED, SHARED_PALETTE);
+            var initialImageGraphics = initialImage.createGraphics();
+            initialImageGraphics.setColor(Color.WHITE);
+            initialImageGraphics.fillRect(0, 0, initialFrameWidth, initialFrameHeight);
+            initialImageGraphics.dispose();
+            writeToSequence(initialImage);
+        }
+        writeToSequence(image);
+    }
+
+    private void writeToSequence(RenderedImage img) throws IOException {
+        gifWriter.writeToSequence(new IIOImage(img, null, imageMetaData), imageWriteParam);
     }
 
     /**
-     * Close this GifSequenceWriter object. This does not close the underlying
-     * stream, just finishes off the GIF.
+     * Close this GifSequenceWriter object, after waiting for the queued frames to be encoded. This does not close the
+     * underlying stream, just finishes off the GIF. The GIF is left unfinished if a frame is still being encoded, since
+     * the writer cannot be used by two threads at once.
      *
      * @throws IOException if an error occurs during writing.
      */
     protected void close() throws IOException {
-        gifWriter.get().endWriteSequence();
+        encoder.shutdown();
+        boolean terminated;
+        try {
+            terminated = encoder.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS);
+            if (!terminated) {
+                // interrupt the frame that is still being encoded, and give it a moment to stop
+                encoder.shutdownNow();
+                terminated = encoder.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            encoder.shutdownNow();
+            Thread.currentThread().interrupt();
+            terminated = encoder.isTerminated();
+        }
+        if (!terminated) {
+            ReportManager.logDiscrete("Skipped finishing the animated GIF because its frames are still being encoded.");
+            return;
+        }
+        if (gifWriter != null) {
+            gifWriter.endWriteSequence();
+            gifWriter.dispose();
+        }
     }
 
-    private void initialize(ImageOutputStream outputStream, int imageType, int timeBetweenFramesMS) throws IOException {
+    private void initialize(ImageTypeSpecifier imageTypeSpecifier) throws IOException {
         // my method to create a writer
-        gifWriter.set(getWriter());
-        imageWriteParam.set(gifWriter.get().getDefaultWriteParam());
-        var imageTypeSpecifier = ImageTypeSpecifier.createFromBufferedImageType(imageType);
+        gifWriter = getWriter();
+        imageWriteParam = gifWriter.getDefaultWriteParam();
 
-        imageMetaData.set(gifWriter.get().getDefaultImageMetadata(imageTypeSpecifier, imageWriteParam.get()));
+        imageMetaData = gifWriter.getDefaultImageMetadata(imageTypeSpecifier, imageWriteParam);
 
-        String metaFormatName = imageMetaData.get().getNativeMetadataFormatName();
+        String metaFormatName = imageMetaData.getNativeMetadataFormatName();
 
-        IIOMetadataNode root = (IIOMetadataNode) imageMetaData.get().getAsTree(metaFormatName);
+        IIOMetadataNode root = (IIOMetadataNode) imageMetaData.getAsTree(metaFormatName);
 
         IIOMetadataNode graphicsControlExtensionNode = getNode(root, "GraphicControlExtension");
 
@@ -111,10 +243,10 @@ public class AnimatedGifManager {
         child.setUserObject(new byte[]{0x1, (byte) (loop & 0xFF), (byte) ((loop >> 8) & 0xFF)});
         appExtensionsNode.appendChild(child);
 
-        imageMetaData.get().setFromTree(metaFormatName, root);
+        imageMetaData.setFromTree(metaFormatName, root);
 
-        gifWriter.get().setOutput(outputStream);
+        gifWriter.setOutput(outputStream);
 
-        gifWriter.get().prepareWriteSequence(null);
+        gifWriter.prepareWriteSequence(null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package io.github.shafthq.shaft.gui.image;
+
+import java.util.List;
+
+/**
+ * The outcome of comparing a folder of test images against a folder of reference images.
+ *
+ * @param completed          false if the folders could not be compared at all, for example because one of them is missing
+ * @param passedImagesCount  the number of test images that matched their reference image by at least the threshold
+ * @param failedImagesCount  the number of test images that did not match their reference image, or could not be read
+ * @param failedImages       the file names of the failed test images, in comparison order
+ * @param failedImagesFolder the folder that holds a copy of every failed test image and its reference image
+ */
+public record ImageFolderComparisonResult(boolean completed, int passedImagesCount, int failedImagesCount,
+                                          List<String> failedImages, String failedImagesFolder) {
+    public ImageFolderComparisonResult {
+        failedImages = List.copyOf(failedImages);
+    }
+
+    static ImageFolderComparisonResult notCompleted() {
+        return new ImageFolderComparisonResult(false, 0, 0, List.of(), "");
+    }
+
+    /**
+     * @return true if the folders were compared and every test image matched its reference image
+     */
+    public boolean isPassed() {
+        return completed && failedImagesCount == 0;
+    }
+}
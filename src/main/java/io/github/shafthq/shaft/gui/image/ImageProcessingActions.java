@@ -21,6 +21,7 @@ import org.opencv.highgui.HighGui;
 import org.opencv.imgcodecs.Imgcodecs;
 import org.opencv.imgproc.Imgproc;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
 
@@ -32,16 +33,18 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.file.FileSystems;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static io.github.shafthq.shaft.gui.element.ElementActionsHelper.formatLocatorToString;
 
 @SuppressWarnings("SpellCheckingInspection")
 public class ImageProcessingActions {
-    private static final String DIRECTORY_PROCESSING = "/processingDirectory/";
     private static final String DIRECTORY_FAILED = "/failedImagesDirectory/";
+    private static final int IMAGE_COMPARISON_THREADS = Runtime.getRuntime().availableProcessors();
     private static final int
 //            CV_MOP_CLOSE = 3,
             CV_THRESH_OTSU = 8,
@@ -50,32 +53,46 @@ public class ImageProcessingActions {
 //            CV_ADAPTIVE_THRESH_MEAN_C = 0,
 //            CV_THRESH_BINARY_INV = 1;
 
+    // in priority order, from the strictest match method to the laxest
+    private static final List<MatchMethod> MATCH_METHODS = List.of(
+            new MatchMethod(Imgproc.TM_CCOEFF_NORMED, 0.80),
+            new MatchMethod(Imgproc.TM_SQDIFF_NORMED, 0.70),
+            new MatchMethod(Imgproc.TM_CCORR_NORMED, 0.60));
+    private static final int MAXIMUM_PYRAMID_LEVELS = 3;
+    private static final int MINIMUM_PYRAMID_TEMPLATE_SIZE = 16; // pixels, at the coarsest level
+    private static final ThreadLocal<PreprocessingBuffers> preprocessingBuffers = ThreadLocal.withInitial(() -> new PreprocessingBuffers(new Mat(), new Mat(), new Mat()));
+
     private static String aiFolderPath = "";
 
     private ImageProcessingActions() {
         throw new IllegalStateException("Utility class");
     }
 
-    public static void compareImageFolders(String referenceFolderPath, String testFolderPath, double threshold) {
-        // TODO: refactor to minimize File IO actions
+    /**
+     * Compares every image in the test folder against the image that has the same position in the reference folder,
+     * when both folders are sorted by file name. The images are compared in place by a pool of worker threads, and
+     * only the failed pairs are attached to the report and copied to a failed images directory inside the test folder.
+     *
+     * @param referenceFolderPath the folder that holds the reference images
+     * @param testFolderPath      the folder that holds the test images
+     * @param threshold           the minimum matching percentage for a test image to pass
+     * @return the comparison result, so that callers can fail fast without parsing the report
+     */
+    public static ImageFolderComparisonResult compareImageFolders(String referenceFolderPath, String testFolderPath, double threshold) {
         try {
-            long fileCounter = 1;
-
             File referenceFolder = new File(referenceFolderPath);
             File testFolder = new File(testFolderPath);
 
-            // cleaning processing folders
-            FileActions.getInstance().deleteFolder(referenceFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-            FileActions.getInstance().deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
+            // cleaning the failed images folder, which lives inside the test folder
             FileActions.getInstance().deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_FAILED);
 
-            // preparing objects for files
-            File[] referenceFiles = referenceFolder.listFiles();
-            File[] testFiles = testFolder.listFiles();
+            // preparing objects for files, ignoring any nested folders
+            File[] referenceFiles = referenceFolder.listFiles(File::isFile);
+            File[] testFiles = testFolder.listFiles(File::isFile);
 
             ReportManager.log("Comparing [" + Objects.requireNonNull(testFiles).length + "] image files from the testFolder ["
                     + testFolder.getPath() + "] against [" + Objects.requireNonNull(referenceFiles).length
-                    + "] image files from the referenceFolder [" + testFolder.getPath() + "]");
+                    + "] image files from the referenceFolder [" + referenceFolder.getPath() + "]");
 
             // sorting objects for files by fileName
             Arrays.sort(referenceFiles);
@@ -83,43 +100,7 @@ public class ImageProcessingActions {
 
             // confirming that the number of screenshots match
             if (referenceFiles.length == testFiles.length) {
-                // copy and rename reference screenshots to a processing directory
-                for (File referenceScreenshot : referenceFiles) {
-                    FileActions.getInstance().copyFile(referenceScreenshot.getAbsolutePath(),
-                            referenceScreenshot.getParent() + DIRECTORY_PROCESSING + fileCounter);
-                    fileCounter++;
-                }
-
-                // copy and rename test screenshots to match reference screenshots in a
-                // processing directory
-
-                fileCounter = 1;
-                for (File testScreenshot : testFiles) {
-                    FileActions.getInstance().copyFile(testScreenshot.getAbsolutePath(),
-                            testScreenshot.getParent() + DIRECTORY_PROCESSING + fileCounter);
-                    fileCounter++;
-                }
-
-                // point to the two new processing directories
-                File referenceProcessingFolder = new File(referenceFolderPath + DIRECTORY_PROCESSING);
-                File testProcessingFolder = new File(testFolderPath + DIRECTORY_PROCESSING);
-
-                // preparing objects for files
-                File[] testProcessingFiles = testProcessingFolder.listFiles();
-
-                // sorting objects for files by fileName
-                if (testProcessingFiles != null) {
-                    Arrays.sort(testProcessingFiles);
-                }
-
-                // compare images from the test directory against the reference directory
-                compareImageFolders(referenceFiles, testFiles, Objects.requireNonNull(testProcessingFiles), referenceProcessingFolder,
-                        testProcessingFolder, threshold);
-
-                // cleaning processing folders
-                FileActions.getInstance().deleteFolder(referenceFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-                FileActions.getInstance().deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-
+                return compareImageFolders(referenceFiles, testFiles, testFolder.getAbsolutePath() + DIRECTORY_FAILED, threshold);
             } else {
                 // fail because the number of screenshots don't match
                 // referenceFiles.length == testFiles.length
@@ -133,79 +114,83 @@ public class ImageProcessingActions {
             ReportManagerHelper.logDiscrete(e);
             ReportManager.log("Failed to compare image files ...");
         }
+        return ImageFolderComparisonResult.notCompleted();
     }
 
     public static byte[] highlightElementInScreenshot(byte[] targetScreenshot,
                                                       org.openqa.selenium.Rectangle elementLocation, Color highlightColor) {
 
 //        loadOpenCV();
-        Mat img = Imgcodecs.imdecode(new MatOfByte(targetScreenshot), Imgcodecs.IMREAD_COLOR);
-
-        int outlineThickness = 5;
-        double elementHeight = elementLocation.getHeight(),
-                elementWidth = elementLocation.getWidth(),
-                xPos = elementLocation.getX(),
-                yPos = elementLocation.getY();
-
-        // IOS Native | macOS Browser | Linux Browser scaled | -> Repositioning
-        if (System.getProperty("targetOperatingSystem").equals("iOS")
-                || System.getProperty("targetOperatingSystem").equals("Mac")
-                || (
-                System.getProperty("targetOperatingSystem").equals("Linux")
-                        && System.getProperty("screenshotParams_scalingFactor") != null
-                        && !System.getProperty("screenshotParams_scalingFactor").isEmpty()
-                        && !System.getProperty("screenshotParams_scalingFactor").equals("1")
-        )
-                || (
-                System.getProperty("targetOperatingSystem").equals("Linux")
-                        && System.getProperty("screenshotParams_scalingFactor") != null
-                        && !System.getProperty("screenshotParams_scalingFactor").isEmpty()
-                        && !System.getProperty("screenshotParams_scalingFactor").equals("1")
-        )
-        ) {
-            elementHeight *= 2;
-            elementWidth *= 2;
-            xPos *= 2;
-            yPos *= 2;
-        }
+        Image tmpImg;
+        try (var scope = new MatScope()) {
+            Mat img = scope.decode(targetScreenshot);
+
+            int outlineThickness = 5;
+            double elementHeight = elementLocation.getHeight(),
+                    elementWidth = elementLocation.getWidth(),
+                    xPos = elementLocation.getX(),
+                    yPos = elementLocation.getY();
+
+            // IOS Native | macOS Browser | Linux Browser scaled | -> Repositioning
+            if (System.getProperty("targetOperatingSystem").equals("iOS")
+                    || System.getProperty("targetOperatingSystem").equals("Mac")
+                    || (
+                    System.getProperty("targetOperatingSystem").equals("Linux")
+                            && System.getProperty("screenshotParams_scalingFactor") != null
+                            && !System.getProperty("screenshotParams_scalingFactor").isEmpty()
+                            && !System.getProperty("screenshotParams_scalingFactor").equals("1")
+            )
+                    || (
+                    System.getProperty("targetOperatingSystem").equals("Linux")
+                            && System.getProperty("screenshotParams_scalingFactor") != null
+                            && !System.getProperty("screenshotParams_scalingFactor").isEmpty()
+                            && !System.getProperty("screenshotParams_scalingFactor").equals("1")
+            )
+            ) {
+                elementHeight *= 2;
+                elementWidth *= 2;
+                xPos *= 2;
+                yPos *= 2;
+            }
 
-        // IOS Browser Repositioning
-        if (System.getProperty("targetOperatingSystem").equals("iOS") && System.getProperty("mobile_browserName").equals("Safari")) {
-            yPos += elementHeight + 2 * outlineThickness;
-        }
+            // IOS Browser Repositioning
+            if (System.getProperty("targetOperatingSystem").equals("iOS") && System.getProperty("mobile_browserName").equals("Safari")) {
+                yPos += elementHeight + 2 * outlineThickness;
+            }
 
-        // Android Browser Repositioning
-        if (System.getProperty("targetOperatingSystem").equals("Android") && System.getProperty("mobile_appPackage").equals("com.android.chrome")) {
-            yPos += 2 * outlineThickness;
-        }
+            // Android Browser Repositioning
+            if (System.getProperty("targetOperatingSystem").equals("Android") && System.getProperty("mobile_appPackage").equals("com.android.chrome")) {
+                yPos += 2 * outlineThickness;
+            }
 
-        // MacOS Browser Repositioning
-        if (System.getProperty("targetOperatingSystem").equals("Mac")) {
-            yPos += 2 * outlineThickness;
-        }
+            // MacOS Browser Repositioning
+            if (System.getProperty("targetOperatingSystem").equals("Mac")) {
+                yPos += 2 * outlineThickness;
+            }
 
-        // Windows Browser Repositioning
-        if (System.getProperty("targetOperatingSystem").equals("Windows")
-                && System.getProperty("screenshotParams_scalingFactor") != null
-                && !System.getProperty("screenshotParams_scalingFactor").isEmpty()) {
-            double scalingFactor = Double.parseDouble(System.getProperty("screenshotParams_scalingFactor"));
-            elementHeight *= scalingFactor;
-            elementWidth *= scalingFactor;
-            xPos *= scalingFactor;
-            yPos *= scalingFactor;
-        }
+            // Windows Browser Repositioning
+            if (System.getProperty("targetOperatingSystem").equals("Windows")
+                    && System.getProperty("screenshotParams_scalingFactor") != null
+                    && !System.getProperty("screenshotParams_scalingFactor").isEmpty()) {
+                double scalingFactor = Double.parseDouble(System.getProperty("screenshotParams_scalingFactor"));
+                elementHeight *= scalingFactor;
+                elementWidth *= scalingFactor;
+                xPos *= scalingFactor;
+                yPos *= scalingFactor;
+            }
 
-        Point startPoint = new Point(xPos - outlineThickness, yPos - outlineThickness);
-        Point endPoint = new Point(xPos + elementWidth + outlineThickness, yPos + elementHeight + outlineThickness);
+            Point startPoint = new Point(xPos - outlineThickness, yPos - outlineThickness);
+            Point endPoint = new Point(xPos + elementWidth + outlineThickness, yPos + elementHeight + outlineThickness);
 
-        // BGR color
-        Scalar highlightColorScalar = new Scalar(highlightColor.getBlue(), highlightColor.getGreen(),
-                highlightColor.getRed());
+            // BGR color
+            Scalar highlightColorScalar = new Scalar(highlightColor.getBlue(), highlightColor.getGreen(),
+                    highlightColor.getRed());
 
-        // Outline
-        Imgproc.rectangle(img, startPoint, endPoint, highlightColorScalar, outlineThickness, 8, 0);
+            // Outline
+            Imgproc.rectangle(img, startPoint, endPoint, highlightColorScalar, outlineThickness, 8, 0);
 
-        Image tmpImg = HighGui.toBufferedImage(img);
+            tmpImg = HighGui.toBufferedImage(img);
+        }
         BufferedImage image = (BufferedImage) tmpImg;
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try {
@@ -216,90 +201,77 @@ public class ImageProcessingActions {
         return baos.toByteArray();
     }
 
-    private static Mat preprocess(byte[] image) {
+    static Mat preprocess(byte[] image) {
         //https://stackoverflow.com/questions/37302098/image-preprocessing-with-opencv-before-doing-character-recognition-tesseract
-        Mat img;
-        Mat imgGray = new Mat();
-        Mat imgGaussianBlur = new Mat();
-        Mat imgSobel = new Mat();
-        Mat imgThreshold = new Mat();
-
-        img = Imgcodecs.imdecode(new MatOfByte(image), Imgcodecs.IMREAD_COLOR);
-        Imgproc.cvtColor(img, imgGray, Imgproc.COLOR_BGR2GRAY);
-        Imgproc.GaussianBlur(imgGray, imgGaussianBlur, new Size(3, 3), 0);
-        Imgproc.Sobel(imgGaussianBlur, imgSobel, -1, 1, 0);
-        Imgproc.threshold(imgSobel, imgThreshold, 0, 255, CV_THRESH_OTSU + CV_THRESH_BINARY);
-
-        if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
-            FileActions.getInstance().createFolder("target/openCV/temp/");
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_1_True_Image.png", img);
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_2_imgGray.png", imgGray);
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_3_imgGaussianBlur.png", imgGaussianBlur);
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_4_imgSobel.png", imgSobel);
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_5_imgThreshold.png", imgThreshold);
+        var buffers = preprocessingBuffers.get();
+        try (var scope = new MatScope()) {
+            Mat img = scope.decode(image);
+            Mat imgGray = buffers.gray();
+            Mat imgGaussianBlur = buffers.gaussianBlur();
+            Mat imgSobel = buffers.sobel();
+            Mat imgThreshold = scope.newMat();
+
+            Imgproc.cvtColor(img, imgGray, Imgproc.COLOR_BGR2GRAY);
+            Imgproc.GaussianBlur(imgGray, imgGaussianBlur, new Size(3, 3), 0);
+            Imgproc.Sobel(imgGaussianBlur, imgSobel, -1, 1, 0);
+            Imgproc.threshold(imgSobel, imgThreshold, 0, 255, CV_THRESH_OTSU + CV_THRESH_BINARY);
+
+            if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
+                FileActions.getInstance().createFolder("target/openCV/temp/");
+                String timestamp = String.valueOf(System.currentTimeMillis());
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_1_True_Image.png", img);
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_2_imgGray.png", imgGray);
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_3_imgGaussianBlur.png", imgGaussianBlur);
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_4_imgSobel.png", imgSobel);
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_5_imgThreshold.png", imgThreshold);
+            }
+            // the caller owns the result, while the intermediate buffers are reused by the next call on this thread
+            return scope.keep(imgThreshold);
         }
-        return imgThreshold;
     }
 
-    private static List<Integer> attemptToFindImageUsingOpenCV(String referenceImagePath, byte[] currentPageScreenshot, int attemptNumber) {
+    private static List<Integer> attemptToFindImageUsingOpenCV(String referenceImagePath, byte[] currentPageScreenshot, Rect searchRegion) {
         if (currentPageScreenshot == null || Arrays.equals(currentPageScreenshot, new byte[]{})) {
             //target image is empty, force fail comparison
             ReportManager.log("Failed to identify the element using AI; target screenshot is empty.");
         } else {
-            Mat img_original = Imgcodecs.imdecode(new MatOfByte(currentPageScreenshot), Imgcodecs.IMREAD_COLOR);
-            Mat templ_original = Imgcodecs.imread(referenceImagePath, Imgcodecs.IMREAD_COLOR);
-
-            Mat img = preprocess(currentPageScreenshot);
-            Mat templ = preprocess(FileActions.getInstance().readFileAsByteArray(referenceImagePath));
-
-            // / Create the result matrix
-            int resultCols = img.cols() - templ.cols() + 1;
-            int resultRows = img.rows() - templ.rows() + 1;
-
-            Mat result = new Mat(resultRows, resultCols, CvType.CV_32FC1);
-
-            // / Do the Matching and Normalize
-            try {
-                // matchMethod 1 == Imgproc.TM_SQDIFF_NORMED
-                int matchMethod = Imgproc.TM_CCOEFF_NORMED;
-                double threshold = 0.80;
-
-                switch (attemptNumber) {
-//                    case 0 -> matchMethod = Imgproc.TM_CCOEFF_NORMED;
-                    case 1 -> matchMethod = Imgproc.TM_SQDIFF_NORMED;
-                    case 2 -> matchMethod = Imgproc.TM_CCORR_NORMED;
+            // the screenshot and the template are decoded and preprocessed once, and shared by all the match methods
+            var template = TemplateCache.get(referenceImagePath);
+            Mat templ_original = template.original();
+            Mat templ = template.preprocessed();
+
+            // / Do the Matching
+            try (var scope = new MatScope()) {
+                Mat img_original = scope.decode(currentPageScreenshot);
+                Mat img = scope.track(preprocess(currentPageScreenshot));
+                var searchArea = clip(searchRegion != null ? searchRegion : new Rect(0, 0, img.cols(), img.rows()), img);
+                List<TemplateMatch> templateMatches = Collections.emptyList();
+                // the neighbourhood of the last found location is searched first, since the element rarely moves far
+                var lastFoundLocation = template.getLastFoundLocation();
+                if (lastFoundLocation != null) {
+                    var neighbourhood = clip(new Rect(lastFoundLocation.x - templ.cols(), lastFoundLocation.y - templ.rows(),
+                            templ.cols() * 3, templ.rows() * 3), searchArea);
+                    templateMatches = findTemplate(img, template, neighbourhood);
                 }
-
-                switch (attemptNumber) {
-//                    case 0 -> threshold = 0.80;
-                    case 1 -> threshold = 0.70;
-                    case 2 -> threshold = 0.60;
+                // a hit of a laxer method in the neighbourhood may be a stale location of an element that moved, so
+                // only a hit of the strictest method ends the search there
+                if (templateMatches.isEmpty() || !templateMatches.get(0).isFound()) {
+                    templateMatches = findTemplate(img, template, searchArea);
                 }
-
-                Imgproc.matchTemplate(img, templ, result, matchMethod);
-//                    Core.normalize(result, result, 0, 1, Core.NORM_MINMAX, -1, new Mat());
-
-                // Localizing the best match with minMaxLoc
-                Core.MinMaxLocResult mmr = Core.minMaxLoc(result);
-
-                double minMaxVal;
-                double matchAccuracy;
-
-                org.opencv.core.Point matchLoc;
-                //noinspection ConstantValue
-                if (matchMethod == Imgproc.TM_SQDIFF || matchMethod == Imgproc.TM_SQDIFF_NORMED) {
-                    matchLoc = mmr.minLoc;
-                    minMaxVal = mmr.minVal;
-                    matchAccuracy = 1 - minMaxVal;
-                } else {
-                    matchLoc = mmr.maxLoc;
-                    minMaxVal = mmr.maxVal;
-                    matchAccuracy = minMaxVal;
+                if (templateMatches.isEmpty()) {
+                    ReportManager.log("Failed to identify the element using AI; the search region is smaller than the reference image.");
+                    return Collections.emptyList();
                 }
+                templateMatches.forEach(templateMatch -> ReportManager.logDiscrete(templateMatch.getAccuracyMessage()));
 
-                var accuracyMessage = "Match accuracy is " + (int) Math.round(matchAccuracy * 100) + "% and threshold is " + (int) Math.round(threshold * 100) + "%.";
-                ReportManager.logDiscrete(accuracyMessage);
+                // the scores of the match methods are not comparable, so the first method in priority order that
+                // passes its own threshold wins, just like the former retries
+                var bestMatch = templateMatches.stream()
+                        .filter(TemplateMatch::isFound)
+                        .findFirst();
+                var selectedMatch = bestMatch.orElse(templateMatches.get(0));
+                org.opencv.core.Point matchLoc = selectedMatch.location();
+                var accuracyMessage = selectedMatch.getAccuracyMessage();
 
                 if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
                     // debugging
@@ -323,9 +295,10 @@ public class ImageProcessingActions {
                     }
                 }
 
-                if (matchAccuracy < threshold) {
+                if (bestMatch.isEmpty()) {
                     return Collections.emptyList();
                 }
+                template.setLastFoundLocation(new Rect((int) matchLoc.x, (int) matchLoc.y, templ.cols(), templ.rows()));
 
                 // returning the top left corner +1 pixel
                 int x = Integer.parseInt(String.valueOf(matchLoc.x + 1).split("\\.")[0]);
@@ -353,19 +326,155 @@ public class ImageProcessingActions {
         return Collections.emptyList();
     }
 
-    public static List<Integer> findImageWithinCurrentPage(String referenceImagePath, byte[] currentPageScreenshot) {
-        int maxNumberOfAttempts = 3;
-        int attempts = 0;
-        List<Integer> foundLocation = Collections.emptyList();
-        do {
+    /**
+     * Searches for the template within an area of the image. Large areas are searched coarse to fine: the best match
+     * of a downscaled search is refined at full resolution within a small window, and the whole area is only searched
+     * at full resolution if the refinement found nothing. A weak downscaled match does not end the search, since the
+     * thin edges of a real match can blur away when its location is not aligned to the downscaling.
+     *
+     * @return the match of every match method, located within the whole image, or an empty list if the area is smaller
+     * than the template
+     */
+    private static List<TemplateMatch> findTemplate(Mat img, TemplateCache.Template template, Rect area) {
+        Mat templ = template.preprocessed();
+        if (area.width < templ.cols() || area.height < templ.rows()) {
+            return Collections.emptyList();
+        }
+
+        int levels = 0;
+        if (area.width >= templ.cols() * 2 || area.height >= templ.rows() * 2) {
+            while (levels < MAXIMUM_PYRAMID_LEVELS
+                    && Math.min(templ.cols(), templ.rows()) >> (levels + 1) >= MINIMUM_PYRAMID_TEMPLATE_SIZE) {
+                levels++;
+            }
+        }
+        if (levels > 0) {
+            Mat coarseTempl = template.getPyramidLevel(levels);
+            Mat coarseImg = img.submat(area);
+            for (int level = 0; level < levels; level++) {
+                Mat downscaled = new Mat();
+                Imgproc.pyrDown(coarseImg, downscaled);
+                coarseImg.release();
+                coarseImg = downscaled;
+            }
             try {
-                foundLocation = attemptToFindImageUsingOpenCV(referenceImagePath, currentPageScreenshot, attempts);
-            } catch (Exception e) {
-                ReportManagerHelper.logDiscrete(e);
+                if (coarseImg.cols() >= coarseTempl.cols() && coarseImg.rows() >= coarseTempl.rows()) {
+                    var coarseMatch = matchTemplate(coarseImg, coarseTempl, MATCH_METHODS.get(0));
+                    int scale = 1 << levels;
+                    var window = clip(new Rect(area.x + (int) coarseMatch.location().x * scale - scale * 2,
+                            area.y + (int) coarseMatch.location().y * scale - scale * 2,
+                            templ.cols() + scale * 4, templ.rows() + scale * 4), area);
+                    var refinedMatches = matchAllMethods(img, templ, window);
+                    if (refinedMatches.stream().anyMatch(TemplateMatch::isFound)) {
+                        return refinedMatches;
+                    }
+                }
+            } finally {
+                coarseImg.release();
             }
-            attempts++;
-        } while (Collections.emptyList().equals(foundLocation) && attempts < maxNumberOfAttempts);
-        return foundLocation;
+        }
+        return matchAllMethods(img, templ, area);
+    }
+
+    /**
+     * Matches the template against an area of the image using all the supported match methods, in parallel.
+     */
+    private static List<TemplateMatch> matchAllMethods(Mat img, Mat templ, Rect area) {
+        Mat roi = img.submat(area);
+        try {
+            return MATCH_METHODS.parallelStream()
+                    .map(matchMethod -> matchTemplate(roi, templ, matchMethod).offset(area.x, area.y))
+                    .toList();
+        } finally {
+            roi.release();
+        }
+    }
+
+    /**
+     * @return the part of the rectangle that lies within the bounds
+     */
+    private static Rect clip(Rect rect, Rect bounds) {
+        int x = Math.max(rect.x, bounds.x);
+        int y = Math.max(rect.y, bounds.y);
+        int width = Math.min(rect.x + rect.width, bounds.x + bounds.width) - x;
+        int height = Math.min(rect.y + rect.height, bounds.y + bounds.height) - y;
+        return new Rect(x, y, Math.max(width, 0), Math.max(height, 0));
+    }
+
+    private static Rect clip(Rect rect, Mat img) {
+        return clip(rect, new Rect(0, 0, img.cols(), img.rows()));
+    }
+
+    /**
+     * Matches the template against the image using a single match method. The image and the template are only read,
+     * so this can run for several match methods in parallel.
+     */
+    private static TemplateMatch matchTemplate(Mat img, Mat templ, MatchMethod matchMethod) {
+        // / Create the result matrix
+        int resultCols = img.cols() - templ.cols() + 1;
+        int resultRows = img.rows() - templ.rows() + 1;
+        Mat result = new Mat(resultRows, resultCols, CvType.CV_32FC1);
+        try {
+            Imgproc.matchTemplate(img, templ, result, matchMethod.method());
+//            Core.normalize(result, result, 0, 1, Core.NORM_MINMAX, -1, new Mat());
+
+            // Localizing the best match with minMaxLoc
+            Core.MinMaxLocResult mmr = Core.minMaxLoc(result);
+            if (matchMethod.method() == Imgproc.TM_SQDIFF || matchMethod.method() == Imgproc.TM_SQDIFF_NORMED) {
+                return new TemplateMatch(matchMethod, mmr.minLoc, 1 - mmr.minVal);
+            } else {
+                return new TemplateMatch(matchMethod, mmr.maxLoc, mmr.maxVal);
+            }
+        } finally {
+            result.release();
+        }
+    }
+
+    /**
+     * Finds the reference image within the current page screenshot. The screenshot is preprocessed once and matched
+     * using all the supported match methods, and the location found by the strictest method that passes its threshold
+     * is returned.
+     *
+     * @param referenceImagePath    the path of the reference image
+     * @param currentPageScreenshot the screenshot of the current page
+     * @return the x and y coordinates of the top left corner of the match, or an empty list if it was not found
+     */
+    public static List<Integer> findImageWithinCurrentPage(String referenceImagePath, byte[] currentPageScreenshot) {
+        return findImageWithinCurrentPage(referenceImagePath, currentPageScreenshot, null);
+    }
+
+    /**
+     * Finds the reference image within a region of the current page screenshot. The screenshot is preprocessed once
+     * and matched using all the supported match methods, and the location found by the strictest method that passes
+     * its threshold is returned.
+     * <p>
+     * The neighbourhood of the location where the same reference image was last found is searched first, and large
+     * regions are searched coarse to fine, starting with a downscaled copy of the screenshot.
+     *
+     * @param referenceImagePath    the path of the reference image
+     * @param currentPageScreenshot the screenshot of the current page
+     * @param searchRegion          the region of the screenshot to be searched, in screenshot pixels, or null to search
+     *                              the whole screenshot
+     * @return the x and y coordinates of the top left corner of the match, or an empty list if it was not found
+     */
+    public static List<Integer> findImageWithinCurrentPage(String referenceImagePath, byte[] currentPageScreenshot, Rectangle searchRegion) {
+        try {
+            return attemptToFindImageUsingOpenCV(referenceImagePath, currentPageScreenshot,
+                    searchRegion == null ? null : new Rect(searchRegion.getX(), searchRegion.getY(), searchRegion.getWidth(), searchRegion.getHeight()));
+        } catch (Exception e) {
+            ReportManagerHelper.logDiscrete(e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Releases the native memory of the reference images that were cached for finding images on the current thread,
+     * and of the buffers that were reused for preprocessing them.
+     */
+    public static void releaseNativeMemory() {
+        TemplateCache.clear();
+        preprocessingBuffers.get().release();
+        preprocessingBuffers.remove();
     }
 
     public static String formatElementLocatorToImagePath(By elementLocator) {
@@ -494,90 +603,129 @@ public class ImageProcessingActions {
         }
     }
 
-    private static void compareImageFolders(File[] referenceFiles, File[] testFiles, File[] testProcessingFiles,
-                                            File referenceProcessingFolder, File testProcessingFolder, double threshold) throws IOException {
-        // TODO: refactor to minimize File IO actions
+    private static ImageFolderComparisonResult compareImageFolders(File[] referenceFiles, File[] testFiles,
+                                                                   String failedImagesFolderPath, double threshold) throws IOException {
         int passedImagesCount = 0;
-        int failedImagesCount = 0;
-
-        // compare images from the test directory against the reference directory
-        for (File screenshot : testProcessingFiles) {
-            float percentage = 0;
-            // take buffer data from both image files //
-
-            BufferedImage biA = ImageIO.read(screenshot);
-            DataBuffer dbA = biA.getData().getDataBuffer();
-            float sizeA = dbA.getSize();
-
-            BufferedImage biB = ImageIO.read(new File(
-                    referenceProcessingFolder + FileSystems.getDefault().getSeparator() + screenshot.getName()));
-            DataBuffer dbB = biB.getData().getDataBuffer();
-            float sizeB = dbB.getSize();
-            float count = 0;
-
-            // compare data-buffer objects //
-            if (sizeA == sizeB) {
-
-                for (int i = 0; i < sizeA; i++) {
-
-                    if (dbA.getElem(i) == dbB.getElem(i)) {
-                        count = count + 1;
-                    }
-
+        List<String> failedImages = new ArrayList<>();
+
+        // the pairs are compared on the worker threads, and reported on this thread in their original order, so at
+        // most a few decoded pairs per worker are held in memory at any time
+        var workers = Executors.newFixedThreadPool(IMAGE_COMPARISON_THREADS, runnable -> {
+            var thread = new Thread(runnable, "SHAFT-ImageComparer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<ImagePairComparison>> pendingComparisons = new ArrayDeque<>();
+        try {
+            int nextPair = 0;
+            while (nextPair < testFiles.length || !pendingComparisons.isEmpty()) {
+                while (nextPair < testFiles.length && pendingComparisons.size() < IMAGE_COMPARISON_THREADS * 2) {
+                    var referenceImage = referenceFiles[nextPair];
+                    var testImage = testFiles[nextPair];
+                    pendingComparisons.add(workers.submit(() -> compareImages(referenceImage, testImage)));
+                    nextPair++;
+                }
+                var comparison = getImagePairComparison(pendingComparisons.poll());
+                if (reportImagePairComparison(comparison, failedImagesFolderPath, threshold)) {
+                    passedImagesCount++;
+                } else {
+                    failedImages.add(comparison.testImage().getName());
                 }
-                percentage = (count * 100) / sizeA;
-            } else {
-                ReportManager.log("Both the images are not of same size");
             }
+        } finally {
+            workers.shutdownNow();
+        }
 
-            // fetch the related reference screenshot file name using the current file
-            // name/number as index
-            String relatedReferenceFileName = referenceFiles[Integer.parseInt(screenshot.getName()) - 1].getName();
-
-            List<Object> referenceScreenshotAttachment = Arrays.asList("Reference Screenshot", relatedReferenceFileName,
-                    new FileInputStream(referenceProcessingFolder + FileSystems.getDefault().getSeparator()
-                            + screenshot.getName()));
+        ReportManager.log("[" + passedImagesCount + "] images passed, and [" + failedImages.size()
+                + "] images failed the threshold of [" + threshold + "%] matching.");
+        return new ImageFolderComparisonResult(true, passedImagesCount, failedImages.size(), failedImages,
+                failedImages.isEmpty() ? "" : failedImagesFolderPath);
+    }
 
-            String relatedTestFileName = testFiles[Integer.parseInt(screenshot.getName()) - 1].getName();
+    private static ImagePairComparison getImagePairComparison(Future<ImagePairComparison> pendingComparison) throws IOException {
+        try {
+            return pendingComparison.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while comparing image files", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
 
-            List<Object> testScreenshotAttachment = Arrays.asList("Test Screenshot", relatedTestFileName,
-                    new FileInputStream(screenshot));
+    /**
+     * Compares the pixel data of two images in place, without copying their rasters. Runs on a worker thread, so it
+     * must not report anything.
+     */
+    private static ImagePairComparison compareImages(File referenceImage, File testImage) {
+        BufferedImage biA;
+        BufferedImage biB;
+        try {
+            biA = ImageIO.read(testImage);
+            biB = ImageIO.read(referenceImage);
+        } catch (IOException e) {
+            return new ImagePairComparison(referenceImage, testImage, 0, "Failed to read the images: " + e.getMessage());
+        }
+        if (biA == null || biB == null) {
+            return new ImagePairComparison(referenceImage, testImage, 0, "Failed to read the images: unsupported image format");
+        }
 
-            ReportManagerHelper.log(
-                    "Test Screenshot [" + relatedTestFileName + "] and related Reference Image ["
-                            + relatedReferenceFileName + "] match by [" + percentage + "] percent.",
-                    Arrays.asList(referenceScreenshotAttachment, testScreenshotAttachment));
+        // take buffer data from both image files //
+        DataBuffer dbA = biA.getRaster().getDataBuffer();
+        DataBuffer dbB = biB.getRaster().getDataBuffer();
+        int sizeA = dbA.getSize();
 
-            boolean discreetLoggingState = ReportManagerHelper.getDiscreteLogging();
-            try {
-                // add to pass/fail counter depending on assertion result, without logging
-                ReportManagerHelper.setDiscreteLogging(true);
-                Validations.assertThat()
-                        .number(percentage)
-                        .isGreaterThanOrEquals(threshold)
-                        .perform();
-                ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
-                passedImagesCount++;
-            } catch (AssertionError e) {
-                ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
-                // copying image to failed images directory
-                FileActions.getInstance().copyFile(screenshot.getAbsolutePath(),
-                        testProcessingFolder.getParent() + DIRECTORY_FAILED + relatedTestFileName + "_testImage");
-                FileActions.getInstance().copyFile(
-                        referenceProcessingFolder + FileSystems.getDefault().getSeparator() + screenshot.getName(),
-                        testProcessingFolder.getParent() + DIRECTORY_FAILED + relatedTestFileName + "_referenceImage");
-                failedImagesCount++;
+        // compare data-buffer objects //
+        if (sizeA != dbB.getSize()) {
+            return new ImagePairComparison(referenceImage, testImage, 0, "Both the images are not of same size");
+        }
+        long count = 0;
+        for (int i = 0; i < sizeA; i++) {
+            if (dbA.getElem(i) == dbB.getElem(i)) {
+                count++;
             }
+        }
+        return new ImagePairComparison(referenceImage, testImage, sizeA == 0 ? 100 : (float) (count * 100) / sizeA, "");
+    }
 
-            Validations.verifyThat()
-                    .number(percentage)
-                    .isGreaterThanOrEquals(threshold)
-                    .perform();
+    /**
+     * Reports the comparison of a single pair, attaching the images and copying them to the failed images folder only
+     * if the pair failed.
+     *
+     * @return true if the pair passed
+     */
+    private static boolean reportImagePairComparison(ImagePairComparison comparison, String failedImagesFolderPath,
+                                                     double threshold) throws IOException {
+        String relatedReferenceFileName = comparison.referenceImage().getName();
+        String relatedTestFileName = comparison.testImage().getName();
+        if (!comparison.problem().isEmpty()) {
+            ReportManager.log(comparison.problem() + " [" + relatedTestFileName + "] and [" + relatedReferenceFileName + "].");
         }
+        String message = "Test Screenshot [" + relatedTestFileName + "] and related Reference Image ["
+                + relatedReferenceFileName + "] match by [" + comparison.percentage() + "] percent.";
 
-        ReportManager.log("[" + passedImagesCount + "] images passed, and [" + failedImagesCount
-                + "] images failed the threshold of [" + threshold + "%] matching.");
+        boolean passed = comparison.percentage() >= threshold;
+        if (passed) {
+            ReportManager.log(message);
+        } else {
+            try (var referenceImageStream = new FileInputStream(comparison.referenceImage());
+                 var testImageStream = new FileInputStream(comparison.testImage())) {
+                ReportManagerHelper.log(message, Arrays.asList(
+                        Arrays.asList("Reference Screenshot", relatedReferenceFileName, referenceImageStream),
+                        Arrays.asList("Test Screenshot", relatedTestFileName, testImageStream)));
+            }
+            // copying the pair to the failed images directory
+            FileActions.getInstance().copyFile(comparison.testImage().getAbsolutePath(),
+                    failedImagesFolderPath + relatedTestFileName + "_testImage");
+            FileActions.getInstance().copyFile(comparison.referenceImage().getAbsolutePath(),
+                    failedImagesFolderPath + relatedTestFileName + "_referenceImage");
+        }
 
+        Validations.verifyThat()
+                .number(comparison.percentage())
+                .isGreaterThanOrEquals(threshold)
+                .perform();
+        return passed;
     }
 
     public static void loadOpenCV() {
@@ -607,4 +755,36 @@ public class ImageProcessingActions {
         CONTENT_EYES,
         LAYOUT_EYES
     }
-}
\ No newline at end of file
+
+    private record ImagePairComparison(File referenceImage, File testImage, float percentage, String problem) {
+    }
+
+    private record MatchMethod(int method, double threshold) {
+    }
+
+    private record TemplateMatch(MatchMethod matchMethod, org.opencv.core.Point location, double accuracy) {
+        boolean isFound() {
+            return accuracy >= matchMethod.threshold();
+        }
+
+        TemplateMatch offset(int x, int y) {
+            return new TemplateMatch(matchMethod, new org.opencv.core.Point(location.x + x, location.y + y), accuracy);
+        }
+
+        String getAccuracyMessage() {
+            return "Match accuracy is " + (int) Math.round(accuracy * 100) + "% and threshold is " + (int) Math.round(matchMethod.threshold() * 100) + "%.";
+        }
+    }
+
+    /**
+     * The intermediate images of preprocessing, which keep their native memory between calls as long as the image
+     * size does not change.
+     */
+    private record PreprocessingBuffers(Mat gray, Mat gaussianBlur, Mat sobel) {
+        private void release() {
+            gray.release();
+            gaussianBlur.release();
+            sobel.release();
+        }
+    }
+}
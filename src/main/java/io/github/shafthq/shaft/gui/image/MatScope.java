@@ -0,0 +1,71 @@
+package io.github.shafthq.shaft.gui.image;
+
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfByte;
+import org.opencv.imgcodecs.Imgcodecs;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Releases the native memory of the Mats that are created within it as soon as it is closed, instead of waiting for
+ * the garbage collector to finalize them. Must be closed when the work is done, preferably using try-with-resources.
+ * <p>
+ * A Mat that has to outlive the scope, such as a returned value, is handed over to the caller using {@link #keep(Mat)}.
+ */
+class MatScope implements AutoCloseable {
+    private final Deque<Mat> trackedMats = new ArrayDeque<>();
+
+    /**
+     * Releases the target Mat when this scope is closed.
+     *
+     * @param mat the Mat to be tracked
+     * @param <T> the type of the Mat
+     * @return the same Mat, to allow inline use
+     */
+    <T extends Mat> T track(T mat) {
+        trackedMats.push(mat);
+        return mat;
+    }
+
+    /**
+     * @return a new empty Mat that is released when this scope is closed
+     */
+    Mat newMat() {
+        return track(new Mat());
+    }
+
+    /**
+     * Decodes an image without keeping a native copy of its encoded bytes.
+     *
+     * @param image the encoded image
+     * @return the decoded color image, which is released when this scope is closed
+     */
+    Mat decode(byte[] image) {
+        var buffer = new MatOfByte(image);
+        try {
+            return track(Imgcodecs.imdecode(buffer, Imgcodecs.IMREAD_COLOR));
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Stops tracking the target Mat, so that it survives this scope and its new owner becomes responsible for
+     * releasing it.
+     *
+     * @param mat the Mat to be kept
+     * @return the same Mat, to allow inline use
+     */
+    Mat keep(Mat mat) {
+        trackedMats.remove(mat);
+        return mat;
+    }
+
+    @Override
+    public void close() {
+        while (!trackedMats.isEmpty()) {
+            trackedMats.pop().release();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.shafthq.shaft.gui.image;
+
+import io.github.shafthq.shaft.tools.io.ReportManagerHelper;
+import lombok.Getter;
+import lombok.Setter;
+import org.openqa.selenium.By;
+
+import javax.imageio.stream.ImageOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Holds the screenshot state of the test that is currently running on this thread, such as the status of the last
+ * captured action and the animated GIF that is being recorded, so that tests running in parallel never share it.
+ * <p>
+ * A context is started by the first capture of a test, including captures made by its configuration methods, and is
+ * ended after the artifacts of that test are attached.
+ */
+@Getter
+@Setter
+class ScreenshotContext {
+    private static final ThreadLocal<ScreenshotContext> currentContext = ThreadLocal.withInitial(ScreenshotContext::new);
+    private String screenshotFileName = "Screenshot";
+    private By targetElementLocator;
+    private boolean passFailStatus = false;
+    private String passFailAppendedText = "";
+    private String testCaseName = "";
+    private String gifRelativePathWithFileName = "";
+    private ImageOutputStream gifOutputStream;
+    private AnimatedGifManager gifWriter;
+    private String lastGifFrameDigest = "";
+    private String lastScreenshotDigest = "";
+    private String lastScreenshotFileName = "";
+    private boolean fullPageScreenshotFailed = false;
+    private final Deque<BufferedScreenshot> bufferedScreenshots = new ArrayDeque<>();
+
+    private ScreenshotContext() {
+    }
+
+    /**
+     * @return the screenshot context of the current thread, which is started if there is none
+     */
+    static ScreenshotContext get() {
+        return currentContext.get();
+    }
+
+    /**
+     * Ends the screenshot context of the current thread, drops the screenshots it still buffers, and closes its
+     * animated GIF in case it was never attached.
+     */
+    static void end() {
+        var context = currentContext.get();
+        try {
+            if (context.gifWriter != null) {
+                context.gifWriter.close();
+            }
+            if (context.gifOutputStream != null) {
+                context.gifOutputStream.close();
+            }
+        } catch (IOException | IllegalStateException e) {
+            ReportManagerHelper.logDiscrete(e);
+        }
+        currentContext.remove();
+        ReportManagerHelper.resetLastScreenshotAttachment();
+    }
+
+    /**
+     * Records the status of the action that is being captured.
+     *
+     * @param passFailStatus true means pass and false means fail
+     */
+    void setActionStatus(boolean passFailStatus) {
+        this.passFailStatus = passFailStatus;
+        this.passFailAppendedText = passFailStatus ? "passed" : "failed";
+    }
+
+    /**
+     * A raw capture that is kept in memory, and only encoded and attached if the test fails.
+     *
+     * @param image    the screenshot as returned by the driver
+     * @param fileName the attachment name, generated when the screenshot was captured
+     */
+    record BufferedScreenshot(byte[] image, String fileName) {
+    }
+}
@@ -1,12 +1,13 @@
 package io.github.shafthq.shaft.gui.image;
 
+import io.github.shafthq.shaft.tools.support.JavaScriptHelper;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chromium.ChromiumDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -14,61 +15,83 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ScreenshotHelper {
 
-    private static final String JS_RETRIEVE_DEVICE_PIXEL_RATIO = "var pr = window.devicePixelRatio; if (pr != undefined && pr != null)return pr; else return 1.0;";
-
     private ScreenshotHelper() {
         throw new IllegalStateException("Utility class");
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Captures the whole page in a single native call on Chromium and Firefox, or by stitching viewport screenshots
+     * on all the other browsers.
+     * <p>
+     * The driver interfaces are checked instead of the driver classes, so that the native capture is also used for
+     * decorated and augmented drivers.
+     *
+     * @param driver       the current instance of Selenium WebDriver
+     * @param skipElements the elements to hide while capturing the page
+     * @return the full page screenshot as a PNG
+     * @throws IOException if a viewport screenshot could not be decoded or the result could not be encoded
+     */
     protected static byte[] makeFullScreenshot(WebDriver driver, WebElement... skipElements) throws IOException {
-        if (driver instanceof FirefoxDriver firefoxDriver) {
-            return firefoxDriver.getFullPageScreenshotAs(OutputType.BYTES);
-        } else if (driver instanceof ChromiumDriver chromiumDriver) {
-            Map<String, Object> page_rect = chromiumDriver.executeCdpCommand("Page.getLayoutMetrics", new HashMap<>());
-            Map<String, Object> contentSize = (Map<String, Object>) page_rect.get("contentSize");
-            Number contentWidth = (Number) contentSize.get("width");
-            Number contentHeight = (Number) contentSize.get("height");
-            Map<String, Object> clip = new HashMap<>();
-            clip.put("width", contentWidth);
-            clip.put("height", contentHeight);
-            clip.put("x", 0);
-            clip.put("y", 0);
-            clip.put("scale", 1);
-            Map<String, Object> screenshot_config = new HashMap<>();
-            screenshot_config.put("optimizeForSpeed", true);
-            screenshot_config.put("captureBeyondViewport", true);
-            screenshot_config.put("fromSurface", true);
-            screenshot_config.put("clip", clip);
-            var result = chromiumDriver.executeCdpCommand("Page.captureScreenshot", screenshot_config);
-            String base64EncodedPng = (String) ((Map<String, ?>) result).get("data");
-            return OutputType.BYTES.convertFromBase64Png(base64EncodedPng);
-        } else {
-            // scroll up first to start taking screenshots
-            scrollVerticallyTo(driver, 0);
-            hideScroll(driver);
-            // No need to hide elements for first attempt
-            byte[] bytes = ScreenshotManager.takeViewportScreenshot(driver);
+        if (driver instanceof HasFullPageScreenshot || driver instanceof HasCdp) {
+            var skippedElements = skipElements == null ? List.<WebElement>of() : List.of(skipElements);
+            if (!skippedElements.isEmpty()) {
+                ((JavascriptExecutor) driver).executeAsyncScript(JavaScriptHelper.FULL_PAGE_SCREENSHOT_PREPARE.getValue(), skippedElements, false);
+            }
+            try {
+                if (driver instanceof HasFullPageScreenshot firefoxDriver) {
+                    return firefoxDriver.getFullPageScreenshotAs(OutputType.BYTES);
+                }
+                return captureBeyondViewport((HasCdp) driver);
+            } finally {
+                if (!skippedElements.isEmpty()) {
+                    ((JavascriptExecutor) driver).executeScript(JavaScriptHelper.FULL_PAGE_SCREENSHOT_RESTORE.getValue(), skippedElements);
+                }
+            }
+        }
+        return stitchViewportScreenshots(driver, skipElements);
+    }
 
-            showHideElements(driver, true, skipElements);
-            long longScrollHeight = (Long) ((JavascriptExecutor) driver)
-                    .executeScript("return Math.max(" + "document.body.scrollHeight, document.documentElement.scrollHeight,"
-                            + "document.body.offsetHeight, document.documentElement.offsetHeight,"
-                            + "document.body.clientHeight, document.documentElement.clientHeight);");
+    @SuppressWarnings("unchecked")
+    private static byte[] captureBeyondViewport(HasCdp chromiumDriver) {
+        Map<String, Object> page_rect = chromiumDriver.executeCdpCommand("Page.getLayoutMetrics", new HashMap<>());
+        // cssContentSize is reported by newer versions of Chromium, in which contentSize is measured in device pixels
+        Map<String, Object> contentSize = (Map<String, Object>) page_rect.getOrDefault("cssContentSize", page_rect.get("contentSize"));
+        Number contentWidth = (Number) contentSize.get("width");
+        Number contentHeight = (Number) contentSize.get("height");
+        Map<String, Object> clip = new HashMap<>();
+        clip.put("width", contentWidth);
+        clip.put("height", contentHeight);
+        clip.put("x", 0);
+        clip.put("y", 0);
+        clip.put("scale", 1);
+        Map<String, Object> screenshot_config = new HashMap<>();
+        screenshot_config.put("optimizeForSpeed", true);
+        screenshot_config.put("captureBeyondViewport", true);
+        screenshot_config.put("fromSurface", true);
+        screenshot_config.put("clip", clip);
+        var result = chromiumDriver.executeCdpCommand("Page.captureScreenshot", screenshot_config);
+        String base64EncodedPng = (String) ((Map<String, ?>) result).get("data");
+        return OutputType.BYTES.convertFromBase64Png(base64EncodedPng);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] stitchViewportScreenshots(WebDriver driver, WebElement... skipElements) throws IOException {
+        var javascriptExecutor = (JavascriptExecutor) driver;
+        var skippedElements = skipElements == null ? List.<WebElement>of() : List.of(skipElements);
+        // hide the scrollbars and scroll to the top, the skipped elements are only hidden after the first viewport
+        var pageMetrics = (List<Number>) javascriptExecutor.executeAsyncScript(JavaScriptHelper.FULL_PAGE_SCREENSHOT_PREPARE.getValue(), List.of(), true);
+        try {
+            int scrollHeight = pageMetrics.get(0).intValue();
+            double devicePixelRatio = pageMetrics.get(1).doubleValue();
 
-            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(ScreenshotManager.takeViewportScreenshot(driver)));
             int capturedWidth = image.getWidth();
             int capturedHeight = image.getHeight();
-
-            double devicePixelRatio = ((Number) ((JavascriptExecutor) driver).executeScript(JS_RETRIEVE_DEVICE_PIXEL_RATIO))
-                    .doubleValue();
-
-            int scrollHeight = (int) longScrollHeight;
-
             int adaptedCapturedHeight = (int) (((double) capturedHeight) / devicePixelRatio);
 
             BufferedImage resultingImage;
@@ -82,85 +105,42 @@ public class ScreenshotHelper {
                 Graphics2D g2dTile = tiledImage.createGraphics();
                 g2dTile.drawImage(image, 0, 0, null);
 
+                List<WebElement> elementsToHide = skippedElements;
                 int scroll = 0;
                 for (int i = 0; i < times - 1; i++) {
                     scroll += adaptedCapturedHeight;
-                    scrollVerticallyTo(driver, scroll);
+                    scrollVerticallyTo(javascriptExecutor, scroll, elementsToHide);
+                    elementsToHide = List.of();
                     BufferedImage nextImage = ImageIO.read(new ByteArrayInputStream(ScreenshotManager.takeViewportScreenshot(driver)));
                     g2dTile.drawImage(nextImage, 0, (i + 1) * capturedHeight, null);
                 }
                 if (leftover > 0) {
                     scroll += adaptedCapturedHeight;
-                    scrollVerticallyTo(driver, scroll);
+                    scrollVerticallyTo(javascriptExecutor, scroll, elementsToHide);
                     BufferedImage nextImage = ImageIO.read(new ByteArrayInputStream(ScreenshotManager.takeViewportScreenshot(driver)));
-                    BufferedImage lastPart = nextImage.getSubimage(0,
-                            nextImage.getHeight() - (int) (((double) leftover) * devicePixelRatio), nextImage.getWidth(),
-                            leftover);
+                    int leftoverHeight = Math.min((int) (((double) leftover) * devicePixelRatio), nextImage.getHeight());
+                    BufferedImage lastPart = nextImage.getSubimage(0, nextImage.getHeight() - leftoverHeight,
+                            nextImage.getWidth(), leftoverHeight);
                     g2dTile.drawImage(lastPart, 0, times * capturedHeight, null);
                 }
-
-                scrollVerticallyTo(driver, 0);
+                g2dTile.dispose();
 
                 resultingImage = tiledImage;
             } else {
                 resultingImage = image;
             }
-            showScroll(driver);
-            showHideElements(driver, false, skipElements);
 
             ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
             ImageIO.write(resultingImage, "png", byteArrayOutputStream);
             return byteArrayOutputStream.toByteArray();
+        } finally {
+            // show the scrollbars and the skipped elements, and scroll back to where the page was
+            javascriptExecutor.executeScript(JavaScriptHelper.FULL_PAGE_SCREENSHOT_RESTORE.getValue(), skippedElements);
         }
     }
 
-    private static void hideScroll(WebDriver driver) {
-        ((JavascriptExecutor) driver).executeScript("document.documentElement.style.overflow = 'hidden';");
-    }
-
-    private static void showScroll(WebDriver driver) {
-        ((JavascriptExecutor) driver).executeScript("document.documentElement.style.overflow = 'visible';");
-    }
-
-    private static void showHideElements(WebDriver driver, Boolean hide, WebElement... skipElements) {
-        String display;
-        if (Boolean.TRUE.equals(hide)) {
-            display = "none";
-        } else {
-            display = "block";
-        }
-        if (skipElements != null) {
-            for (WebElement skipElement : skipElements) {
-                ((JavascriptExecutor) driver).executeScript("arguments[0].style.display = '" + display + "';",
-                        skipElement);
-            }
-        }
-    }
-
-    private static void scrollVerticallyTo(WebDriver driver, int scroll) {
-        ((JavascriptExecutor) driver).executeScript("window.scrollTo(0, " + scroll + ");");
-        try {
-            waitUntilItIsScrolledToPosition(driver, scroll);
-        } catch (Exception e) {
-            // this used to throw InterruptedException e, but was changed to the generic
-            // exception to resolve the sonar lint comment
-        }
-    }
-
-    private static void waitUntilItIsScrolledToPosition(WebDriver driver, int scrollPosition)
-            throws InterruptedException {
-        int time = 250;// SCREENSHOT_FULLPAGE_SCROLL_TIMEOUT
-        boolean isScrolledToPosition = false;
-        while (time >= 0 && !isScrolledToPosition) {
-            Thread.sleep(50);
-            time -= 50;
-            isScrolledToPosition = Math.abs(obtainVerticalScrollPosition(driver) - scrollPosition) < 3;
-        }
-    }
-
-    private static int obtainVerticalScrollPosition(WebDriver driver) {
-        Long scrollLong = (Long) ((JavascriptExecutor) driver).executeScript(
-                "return (window.pageYOffset !== undefined) ? window.pageYOffset : (document.documentElement || document.body.parentNode || document.body).scrollTop;");
-        return scrollLong.intValue();
+    private static void scrollVerticallyTo(JavascriptExecutor javascriptExecutor, int scroll, List<WebElement> elementsToHide) {
+        // the script only returns after the new position is painted, so there is no need to poll for it
+        javascriptExecutor.executeAsyncScript(JavaScriptHelper.FULL_PAGE_SCREENSHOT_SCROLL.getValue(), scroll, elementsToHide);
     }
-}
\ No newline at end of file
+}
@@ -4,22 +4,26 @@ import com.epam.healenium.SelfHealingDriver;
 import com.shaft.cli.FileActions;
 import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
+import io.github.shafthq.shaft.enums.ScreenshotFormat;
 import io.github.shafthq.shaft.enums.Screenshots;
 import io.github.shafthq.shaft.gui.browser.JavaScriptWaitManager;
 import io.github.shafthq.shaft.gui.element.ElementActionsHelper;
+import io.github.shafthq.shaft.gui.element.ElementResolutionContext;
 import io.github.shafthq.shaft.properties.Properties;
+import io.github.shafthq.shaft.tools.io.AsyncAttachmentProcessor;
+import io.github.shafthq.shaft.tools.io.RepeatedAttachment;
 import io.github.shafthq.shaft.tools.io.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.support.JavaScriptHelper;
 import org.imgscalr.Scalr;
-import org.opencv.core.Mat;
-import org.opencv.core.MatOfByte;
-import org.opencv.imgcodecs.Imgcodecs;
 import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.locators.RelativeLocator;
 import org.sikuli.script.App;
 import org.sikuli.script.Pattern;
 import org.sikuli.script.Screen;
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
 import javax.imageio.stream.FileImageOutputStream;
 import javax.imageio.stream.ImageOutputStream;
 import java.awt.*;
@@ -27,11 +31,11 @@ import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.URL;
 import java.nio.file.FileSystems;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Date;
 import java.util.List;
+import java.util.*;
 
 public class ScreenshotManager {
     private static final String SCREENSHOT_FOLDER_PATH = System.getProperty("allureResultsFolderPath").trim()
@@ -66,7 +70,16 @@ public class ScreenshotManager {
     private static final int RETRIES_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION = 1;
     private static final Boolean SCREENSHOT_PARAMS_WATERMARK = Boolean
             .valueOf(System.getProperty("screenshotParams_watermark").trim());
-    private static Screenshots SCREENSHOT_PARAMS_SCREENSHOT_TYPE = setScreenshotType();
+    private static final ScreenshotFormat SCREENSHOT_PARAMS_OUTPUT_FORMAT = ScreenshotFormat.getConfiguredFormat();
+    private static final float SCREENSHOT_PARAMS_JPEG_QUALITY = Float
+            .parseFloat(System.getProperty("screenshotParams_jpegQuality", "0.8").trim());
+    private static final int SCREENSHOT_PARAMS_MAXIMUM_WIDTH = Integer
+            .parseInt(System.getProperty("screenshotParams_maximumWidth", "0").trim());
+    private static final int SCREENSHOT_PARAMS_FAILURE_HISTORY_SIZE = Integer
+            .parseInt(System.getProperty("screenshotParams_failureHistorySize", "0").trim());
+    private static final Boolean SCREENSHOT_PARAMS_DEDUPLICATE_SCREENSHOTS = Boolean
+            .valueOf(System.getProperty("screenshotParams_deduplicateScreenshots", "false").trim());
+    private static final Screenshots SCREENSHOT_PARAMS_SCREENSHOT_TYPE = setScreenshotType();
     private static String SCREENSHOT_PARAMS_HIGHLIGHT_METHOD = System
             .getProperty("screenshotParams_highlightMethod");
     private static final Boolean CREATE_GIF = Boolean.valueOf(System.getProperty("createAnimatedGif").trim());
@@ -76,14 +89,15 @@ public class ScreenshotManager {
     private static final Boolean DETAILED_GIF = true;
     private static final String DETAILED_GIF_REGEX = "(verify.*)|(assert.*)|(click.*)|(tap.*)|(key.*)|(navigate.*)";
     private static String AI_AIDED_ELEMENT_IDENTIFICATION_FOLDER_PATH = "";
-    private static String screenshotFileName = "Screenshot";
-    private static By targetElementLocator;
-    private static boolean globalPassFailStatus = false;
-    private static String globalPassFailAppendedText = "";
-    private static String testCaseName = "";
-    private static String gifRelativePathWithFileName = "";
-    private static ThreadLocal<ImageOutputStream> gifOutputStream = new ThreadLocal<>();
-    private static ThreadLocal<AnimatedGifManager> gifWriter = new ThreadLocal<>();
+    private static final int MAXIMUM_SCALED_WATERMARKS = 8;
+    private static final Map<Integer, BufferedImage> scaledWatermarks = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+            return size() > MAXIMUM_SCALED_WATERMARKS;
+        }
+    });
+    private static BufferedImage watermark;
+    private static boolean isWatermarkLoaded = false;
 
     private ScreenshotManager() {
         throw new IllegalStateException("Utility class");
@@ -119,14 +133,10 @@ public class ScreenshotManager {
      * @return a screenshot object
      */
     public static List<Object> captureScreenShot(WebDriver driver, String actionName, boolean passFailStatus) {
-        globalPassFailStatus = passFailStatus;
-        if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
-        } else {
-            globalPassFailAppendedText = "failed";
-        }
+        var context = ScreenshotContext.get();
+        context.setActionStatus(passFailStatus);
 
-        return internalCaptureScreenShot(driver, null, actionName, globalPassFailAppendedText,
+        return internalCaptureScreenShot(driver, null, actionName, context.getPassFailAppendedText(),
                 takeScreenshot(actionName, passFailStatus));
     }
 
@@ -144,16 +154,11 @@ public class ScreenshotManager {
      */
     public static List<Object> captureScreenShot(WebDriver driver, By elementLocator, String actionName,
                                                  boolean passFailStatus) {
-        globalPassFailStatus = passFailStatus;
-        targetElementLocator = elementLocator;
+        var context = ScreenshotContext.get();
+        context.setActionStatus(passFailStatus);
+        context.setTargetElementLocator(elementLocator);
 
-        if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
-        } else {
-            globalPassFailAppendedText = "failed";
-        }
-
-        return internalCaptureScreenShot(driver, targetElementLocator, actionName, globalPassFailAppendedText,
+        return internalCaptureScreenShot(driver, elementLocator, actionName, context.getPassFailAppendedText(),
                 takeScreenshot(actionName, passFailStatus));
     }
 
@@ -173,12 +178,7 @@ public class ScreenshotManager {
     public static List<Object> captureScreenShotUsingSikuliX(Screen screen, App applicationWindow, Pattern element, String actionName,
                                                                           boolean passFailStatus) {
 
-        globalPassFailStatus = passFailStatus;
-        if (passFailStatus) {
-            globalPassFailAppendedText = "passed";
-        } else {
-            globalPassFailAppendedText = "failed";
-        }
+        ScreenshotContext.get().setActionStatus(passFailStatus);
 
         boolean takeScreenshot = "Always".equals(SCREENSHOT_PARAMS_WHEN_TO_TAKE_A_SCREENSHOT)
                 || ("ValidationPointsOnly".equals(SCREENSHOT_PARAMS_WHEN_TO_TAKE_A_SCREENSHOT)
@@ -198,7 +198,7 @@ public class ScreenshotManager {
             byte[] src = null;
             try {
                 ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-                switch (SCREENSHOT_PARAMS_SCREENSHOT_TYPE) {
+                switch (getScreenshotType()) {
                     case ELEMENT:
                         if (element != null) {
                             try {
@@ -229,7 +229,7 @@ public class ScreenshotManager {
 
             startOrAppendToAnimatedGif(src);
             if (takeScreenshot) {
-                return prepareImageForReport(src, actionName);
+                return reportOrBufferScreenshot(src, actionName);
             } else {
                 return null;
             }
@@ -243,16 +243,14 @@ public class ScreenshotManager {
 
     public static byte[] takeFullPageScreenshot(WebDriver driver) {
         try {
-            if (!System.getProperty("setParallel").equals("NONE")) {
-                //in case of parallel execution, force regular screenshots
-                return takeViewportScreenshot(driver);
-            } else if (SCREENSHOT_PARAMS_SKIPPED_ELEMENTS_FROM_SCREENSHOT.length() > 0) {
+            // full page screenshots only use the state of the target driver, so they are safe to take in parallel
+            if (SCREENSHOT_PARAMS_SKIPPED_ELEMENTS_FROM_SCREENSHOT.length() > 0) {
                 List<WebElement> skippedElementsList = new ArrayList<>();
                 String[] skippedElementLocators = SCREENSHOT_PARAMS_SKIPPED_ELEMENTS_FROM_SCREENSHOT.split(";");
                 for (String locator : skippedElementLocators) {
                     if (ElementActionsHelper.getElementsCount(driver, By.xpath(locator),
                             RETRIES_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION) == 1) {
-                        skippedElementsList.add(((WebElement) ElementActionsHelper.identifyUniqueElement(driver, By.xpath(locator)).get(1)));
+                        skippedElementsList.add(ElementActionsHelper.identifyUniqueElement(driver, By.xpath(locator)).getFirstElement());
                     }
                 }
 
@@ -273,22 +271,33 @@ public class ScreenshotManager {
         return takeElementScreenshot(driver, targetElementLocator, false);
     }
 
+    /**
+     * Ends the screenshot context of the current thread. Called after the artifacts of every test are attached, so
+     * that the next test running on this thread starts with a clean context.
+     */
+    public static void endScreenshotContext() {
+        ScreenshotContext.end();
+    }
+
     public static String attachAnimatedGif() {
         // stop and attach
-        if (Boolean.TRUE.equals(CREATE_GIF) && !"".equals(gifRelativePathWithFileName)) {
+        var context = ScreenshotContext.get();
+        if (Boolean.TRUE.equals(CREATE_GIF) && !"".equals(context.getGifRelativePathWithFileName())) {
             try {
-                ReportManagerHelper.attach("Animated Gif", testCaseName, new FileInputStream(gifRelativePathWithFileName));
-                if (!gifWriter.equals(new ThreadLocal<>())) {
-                    gifWriter.get().close();
+                // wait for the queued frames to be encoded, and finish off the gif before attaching it
+                if (context.getGifWriter() != null) {
+                    context.getGifWriter().close();
+                    context.setGifWriter(null);
                 }
-                if (!gifOutputStream.equals(new ThreadLocal<>())) {
-                    gifOutputStream.get().close();
+                if (context.getGifOutputStream() != null) {
+                    context.getGifOutputStream().close();
+                    context.setGifOutputStream(null);
                 }
+                ReportManagerHelper.attach("Animated Gif", context.getTestCaseName(), new FileInputStream(context.getGifRelativePathWithFileName()));
 
-                gifOutputStream = new ThreadLocal<>();
-                gifWriter = new ThreadLocal<>();
-                String gifRelativePath = gifRelativePathWithFileName;
-                gifRelativePathWithFileName = "";
+                context.setLastGifFrameDigest("");
+                String gifRelativePath = context.getGifRelativePathWithFileName();
+                context.setGifRelativePathWithFileName("");
                 return gifRelativePath;
             } catch (FileNotFoundException e) {
                 // this happens when the gif fails to start, maybe the browser window was
@@ -332,6 +341,7 @@ public class ScreenshotManager {
                 JavascriptExecutor js = null;
                 WebElement element = null;
                 Rectangle elementLocation = null;
+                List<Number> elementOverlayRect = null;
 
                 try {
                     /*
@@ -339,35 +349,42 @@ public class ScreenshotManager {
                      * element before taking the screenshot
                      */
                     if (takeScreenshot && Boolean.TRUE.equals(SCREENSHOT_PARAMS_HIGHLIGHT_ELEMENTS) && elementLocator != null) {
-                        try {
-                            // catching https://github.com/ShaftHQ/SHAFT_ENGINE/issues/640
-                            @SuppressWarnings("unused") Mat img = Imgcodecs.imdecode(new MatOfByte(), Imgcodecs.IMREAD_COLOR);
-                        } catch (java.lang.UnsatisfiedLinkError unsatisfiedLinkError) {
-                            ReportManagerHelper.logDiscrete(unsatisfiedLinkError);
-                            ReportManager.logDiscrete("Caught an UnsatisfiedLinkError, switching element highlighting method to JavaScript instead of AI.");
-                            SCREENSHOT_PARAMS_HIGHLIGHT_METHOD = "JavaScript";
-                        } catch (Exception exception) {
-                            //do nothing in case of any other exception
-                            //expected to throw org.opencv.core.CvException if removed
+                        // the Overlay method draws the outline in Java, so it does not need OpenCV
+                        if (!"Overlay".equals(SCREENSHOT_PARAMS_HIGHLIGHT_METHOD)) {
+                            try (var scope = new MatScope()) {
+                                // catching https://github.com/ShaftHQ/SHAFT_ENGINE/issues/640
+                                scope.decode(new byte[0]);
+                            } catch (java.lang.UnsatisfiedLinkError unsatisfiedLinkError) {
+                                ReportManagerHelper.logDiscrete(unsatisfiedLinkError);
+                                ReportManager.logDiscrete("Caught an UnsatisfiedLinkError, switching element highlighting method to JavaScript instead of AI.");
+                                SCREENSHOT_PARAMS_HIGHLIGHT_METHOD = "JavaScript";
+                            } catch (Exception exception) {
+                                //do nothing in case of any other exception
+                                //expected to throw org.opencv.core.CvException if removed
+                            }
                         }
 
                         int elementCount = ElementActionsHelper.getElementsCount(driver, elementLocator, RETRIES_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION);
                         boolean isRelativeLocator = elementLocator instanceof RelativeLocator.RelativeBy;
                         if ((!isRelativeLocator && elementCount == 1) || (isRelativeLocator && elementCount >= 1)) {
                             if ("JavaScript".equals(SCREENSHOT_PARAMS_HIGHLIGHT_METHOD)) {
-                                element = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1));
+                                element = ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement();
                                 js = (JavascriptExecutor) driver;
                                 regularElementStyle = highlightElementAndReturnDefaultStyle(element, js,
                                         setHighlightedElementStyle());
+                            } else if ("Overlay".equals(SCREENSHOT_PARAMS_HIGHLIGHT_METHOD) && DriverFactoryHelper.isWebExecution()) {
+                                // the outline is drawn on the captured image, so the page itself is never touched
+                                elementOverlayRect = getElementOverlayRect(driver, ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement());
                             } else {
                                 // default to using AI
-                                elementLocation = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getRect();
+                                elementLocation = ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().getRect();
                             }
                         }
                     }
                 } catch (StaleElementReferenceException | ElementNotInteractableException e) {
                     // this happens when WebDriver fails to capture the elements initial style or
                     // fails to highlight the element for some reason
+                    ElementResolutionContext.invalidateIfStale(elementLocator, e);
                     ReportManagerHelper.logDiscrete(e);
                 }
 
@@ -386,11 +403,13 @@ public class ScreenshotManager {
                     /*
                      * Declare screenshot file name
                      */
-                    testCaseName = ReportManagerHelper.getTestMethodName();
-                    screenshotFileName = System.currentTimeMillis() + "_" + testCaseName + "_" + actionName;
+                    var context = ScreenshotContext.get();
+                    context.setTestCaseName(ReportManagerHelper.getTestMethodName());
+                    var fileName = System.currentTimeMillis() + "_" + context.getTestCaseName() + "_" + actionName;
                     if (!"".equals(appendedText)) {
-                        screenshotFileName = screenshotFileName + "_" + appendedText;
+                        fileName = fileName + "_" + appendedText;
                     }
+                    context.setScreenshotFileName(fileName);
 
                     /*
                      * If an elementLocator was passed, unhighlight that element after taking the
@@ -398,21 +417,24 @@ public class ScreenshotManager {
                      *
                      */
                     if (takeScreenshot && SCREENSHOT_PARAMS_HIGHLIGHT_METHOD.equals("JavaScript") && js != null) {
-                        js.executeScript("arguments[0].setAttribute('style', arguments[1]);", element, regularElementStyle);
+                        js.executeScript(JavaScriptHelper.ELEMENT_SET_STYLE_UNTRACKED.getValue(), element, regularElementStyle);
                     }
 
+                    Color color;
+                    if (ScreenshotContext.get().isPassFailStatus()) {
+                        color = new Color(67, 176, 42); // selenium-green
+                    } else {
+                        color = new Color(255, 255, 153); // yellow
+                    }
                     if (takeScreenshot && !SCREENSHOT_PARAMS_HIGHLIGHT_METHOD.equals("JavaScript") && elementLocation != null) {
-                        Color color;
-                        if (globalPassFailStatus) {
-                            color = new Color(67, 176, 42); // selenium-green
-                        } else {
-                            color = new Color(255, 255, 153); // yellow
-                        }
                         src = ImageProcessingActions.highlightElementInScreenshot(src, elementLocation, color);
                     }
+                    if (takeScreenshot && elementOverlayRect != null) {
+                        src = drawElementOutline(src, elementOverlayRect, color);
+                    }
                     startOrAppendToAnimatedGif(src);
                     if (takeScreenshot) {
-                        return prepareImageForReport(src, actionName);
+                        return reportOrBufferScreenshot(src, actionName);
                     } else {
                         return new ArrayList<>();
                     }
@@ -426,28 +448,77 @@ public class ScreenshotManager {
         return new ArrayList<>();
     }
 
+    @SuppressWarnings("unchecked")
+    private static List<Number> getElementOverlayRect(WebDriver driver, WebElement element) {
+        // a single call right before the screenshot, that reads the element position without changing anything
+        var elementRect = ((JavascriptExecutor) driver).executeScript(JavaScriptHelper.ELEMENT_SCREENSHOT_RECT.getValue(), element);
+        return elementRect instanceof List<?> ? (List<Number>) elementRect : null;
+    }
+
+    private static byte[] drawElementOutline(byte[] screenshot, List<Number> elementRect, Color color) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshot));
+            if (image == null) {
+                return screenshot;
+            }
+            double x = elementRect.get(0).doubleValue();
+            double y = elementRect.get(1).doubleValue();
+            double viewportWidth = elementRect.get(6).doubleValue();
+            double viewportHeight = elementRect.get(7).doubleValue();
+            // the screenshot is in device pixels, while the element rect is in CSS pixels
+            double scale = image.getWidth() / viewportWidth;
+            if (image.getHeight() > viewportHeight * scale * 1.05) {
+                // a full page screenshot, so the element is positioned relative to the page instead of the viewport
+                scale = image.getWidth() / elementRect.get(8).doubleValue();
+                x += elementRect.get(4).doubleValue();
+                y += elementRect.get(5).doubleValue();
+            }
+            Graphics2D graphics = image.createGraphics();
+            graphics.setColor(color);
+            graphics.setStroke(new BasicStroke((float) Math.max(2, 3 * scale)));
+            graphics.drawRect((int) Math.round(x * scale), (int) Math.round(y * scale),
+                    (int) Math.round(elementRect.get(2).doubleValue() * scale), (int) Math.round(elementRect.get(3).doubleValue() * scale));
+            graphics.dispose();
+
+            ByteArrayOutputStream screenshotOutputStream = new ByteArrayOutputStream(screenshot.length);
+            ImageIO.write(image, "png", screenshotOutputStream);
+            return screenshotOutputStream.toByteArray();
+        } catch (IOException e) {
+            ReportManagerHelper.logDiscrete(e);
+            return screenshot;
+        }
+    }
+
+    /**
+     * @return the configured screenshot type, or viewport screenshots for the rest of the current test in case its
+     * browser failed to take a full page screenshot
+     */
+    private static Screenshots getScreenshotType() {
+        return ScreenshotContext.get().isFullPageScreenshotFailed() ? Screenshots.VIEWPORT : SCREENSHOT_PARAMS_SCREENSHOT_TYPE;
+    }
+
     private static byte[] takeScreenshot(WebDriver driver) {
         if (driver instanceof SelfHealingDriver selfHealingDriver) {
             driver = selfHealingDriver.getDelegate();
         }
 
         if (DriverFactoryHelper.isWebExecution()) {
-            return switch (SCREENSHOT_PARAMS_SCREENSHOT_TYPE) {
+            return switch (getScreenshotType()) {
                 case FULL -> {
                     try {
                         yield takeFullPageScreenshot(driver);
                     } catch (Exception throwable) {
                         ReportManagerHelper.logDiscrete(throwable);
-                        SCREENSHOT_PARAMS_SCREENSHOT_TYPE = Screenshots.VIEWPORT;
+                        ScreenshotContext.get().setFullPageScreenshotFailed(true);
                         yield takeScreenshot(driver);
                     }
                 }
-                case ELEMENT -> takeElementScreenshot(driver, targetElementLocator, true);
+                case ELEMENT -> takeElementScreenshot(driver, ScreenshotContext.get().getTargetElementLocator(), true);
                 default -> ScreenshotManager.takeViewportScreenshot(driver);
             };
         }else {
-            if (SCREENSHOT_PARAMS_SCREENSHOT_TYPE.equals(Screenshots.ELEMENT)) {
-                return takeElementScreenshot(driver, targetElementLocator, true);
+            if (Screenshots.ELEMENT.equals(getScreenshotType())) {
+                return takeElementScreenshot(driver, ScreenshotContext.get().getTargetElementLocator(), true);
             } else {
                 return ScreenshotManager.takeViewportScreenshot(driver);
             }
@@ -459,7 +530,7 @@ public class ScreenshotManager {
         try {
             if (targetElementLocator != null && ElementActionsHelper.getElementsCount(driver, targetElementLocator,
                     RETRIES_BEFORE_THROWING_ELEMENT_NOT_FOUND_EXCEPTION) == 1) {
-                return ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, targetElementLocator).get(1)).getScreenshotAs(OutputType.BYTES);
+                return ElementActionsHelper.identifyUniqueElement(driver, targetElementLocator).getFirstElement().getScreenshotAs(OutputType.BYTES);
             } else {
                 if (returnRegularScreenshotInCaseOfFailure) {
                     return ScreenshotManager.takeViewportScreenshot(driver);
@@ -468,6 +539,7 @@ public class ScreenshotManager {
                 }
             }
         } catch (Exception e) {
+            ElementResolutionContext.invalidateIfStale(targetElementLocator, e);
             ReportManagerHelper.logDiscrete(e);
             if (returnRegularScreenshotInCaseOfFailure) {
                 return ScreenshotManager.takeViewportScreenshot(driver);
@@ -478,36 +550,76 @@ public class ScreenshotManager {
     }
 
     public static String generateAttachmentFileName(String actionName) {
-        testCaseName = ReportManagerHelper.getTestMethodName();
-        var fileName = System.currentTimeMillis() + "_" + testCaseName + "_" + actionName;
-        if (!"".equals(globalPassFailAppendedText)) {
-            fileName = fileName + "_" + globalPassFailAppendedText;
+        var context = ScreenshotContext.get();
+        context.setTestCaseName(ReportManagerHelper.getTestMethodName());
+        var fileName = System.currentTimeMillis() + "_" + context.getTestCaseName() + "_" + actionName;
+        if (!"".equals(context.getPassFailAppendedText())) {
+            fileName = fileName + "_" + context.getPassFailAppendedText();
         }
         return fileName;
     }
 
     public static List<Object> prepareImageForReport(byte[] image, String actionName) {
+        return prepareImageForReportWithFileName(image, generateAttachmentFileName(actionName));
+    }
+
+    /**
+     * Encodes and attaches the screenshots that were kept in memory while the current test was passing, oldest first.
+     * Called once an action or a validation fails, and after every failed test.
+     */
+    public static void attachBufferedScreenshots() {
+        var bufferedScreenshots = ScreenshotContext.get().getBufferedScreenshots();
+        while (!bufferedScreenshots.isEmpty()) {
+            var bufferedScreenshot = bufferedScreenshots.pollFirst();
+            var screenshot = prepareImageForReportWithFileName(bufferedScreenshot.image(), bufferedScreenshot.fileName());
+            if (screenshot != null) {
+                ReportManagerHelper.attach(screenshot);
+            }
+        }
+    }
+
+    private static List<Object> reportOrBufferScreenshot(byte[] image, String actionName) {
+        if (SCREENSHOT_PARAMS_FAILURE_HISTORY_SIZE > 0 && image != null && image.length > 0) {
+            var context = ScreenshotContext.get();
+            if (context.isPassFailStatus()) {
+                // keep the raw capture until the test fails, a passing test never pays for encoding or writing it
+                var bufferedScreenshots = context.getBufferedScreenshots();
+                if (bufferedScreenshots.size() >= SCREENSHOT_PARAMS_FAILURE_HISTORY_SIZE) {
+                    bufferedScreenshots.pollFirst();
+                }
+                bufferedScreenshots.addLast(new ScreenshotContext.BufferedScreenshot(image, generateAttachmentFileName(actionName)));
+                return new ArrayList<>();
+            }
+            attachBufferedScreenshots();
+        }
+        return prepareImageForReport(image, actionName);
+    }
+
+    private static List<Object> prepareImageForReportWithFileName(byte[] image, String screenshotFileName) {
         if (image != null && image.length > 0) {
-            /*
-             * Declare screenshot file name
-             */
-            screenshotFileName = generateAttachmentFileName(actionName);
+            var context = ScreenshotContext.get();
+            context.setScreenshotFileName(screenshotFileName);
 
             /*
              * Adding Screenshot to the Report.
              *
              */
             try {
-                // add SHAFT_Engine logo overlay
-                InputStream in = new ByteArrayInputStream(image);
-                BufferedImage screenshotImage = ImageIO.read(in);
-                overlayShaftEngineLogo(screenshotImage);
-
-                ByteArrayOutputStream screenshotOutputStream = new ByteArrayOutputStream();
-                ImageIO.write(screenshotImage, "png", screenshotOutputStream);
-                return Arrays.asList("Screenshot", screenshotFileName,
-                        new ByteArrayInputStream(screenshotOutputStream.toByteArray()));
-            } catch (IOException e) {
+                InputStream screenshotContent;
+                var screenshotDigest = Boolean.TRUE.equals(SCREENSHOT_PARAMS_DEDUPLICATE_SCREENSHOTS) ? getDigest(image) : "";
+                if (!screenshotDigest.isEmpty() && screenshotDigest.equals(context.getLastScreenshotDigest())) {
+                    // identical to the previous screenshot, so it is referenced instead of being encoded and written again
+                    screenshotContent = new RepeatedAttachment(context.getLastScreenshotFileName(), () -> encodeScreenshotUnchecked(image));
+                } else {
+                    if (!screenshotDigest.isEmpty()) {
+                        context.setLastScreenshotDigest(screenshotDigest);
+                        context.setLastScreenshotFileName(screenshotFileName);
+                    }
+                    // decoding, watermarking, and encoding run in the background when asynchronous processing is enabled
+                    screenshotContent = AsyncAttachmentProcessor.process(() -> encodeScreenshotUnchecked(image));
+                }
+                return Arrays.asList("Screenshot", screenshotFileName, screenshotContent);
+            } catch (UncheckedIOException e) {
                 ReportManagerHelper.logDiscrete(e);
                 return null;
             }
@@ -520,11 +632,12 @@ public class ScreenshotManager {
     private static String highlightElementAndReturnDefaultStyle(WebElement element, JavascriptExecutor js,
                                                                 String highlightedElementStyle) {
         String regularElementStyle = element.getAttribute("style");
+        // the highlight is hidden from the element handle cache, since it is removed right after the screenshot
         if (regularElementStyle != null && !regularElementStyle.equals("")) {
-            js.executeScript("arguments[0].style.cssText = arguments[1];", element,
+            js.executeScript(JavaScriptHelper.ELEMENT_SET_STYLE_UNTRACKED.getValue(), element,
                     regularElementStyle + highlightedElementStyle);
         } else {
-            js.executeScript("arguments[0].setAttribute('style', arguments[1]);", element, highlightedElementStyle);
+            js.executeScript(JavaScriptHelper.ELEMENT_SET_STYLE_UNTRACKED.getValue(), element, highlightedElementStyle);
         }
 
         try {
@@ -539,7 +652,7 @@ public class ScreenshotManager {
         String background;
         String backgroundColor;
 
-        if (globalPassFailStatus) {
+        if (ScreenshotContext.get().isPassFailStatus()) {
             background = "#46aad2";
             backgroundColor = "#A5D2A5";
         } else {
@@ -553,46 +666,29 @@ public class ScreenshotManager {
     }
 
     private static void startAnimatedGif(byte[] screenshot) {
-        // TODO: refactor performance to reduce severe drop when enabling this option
         if (Boolean.TRUE.equals(CREATE_GIF) && screenshot != null) {
+            var context = ScreenshotContext.get();
             try {
-                testCaseName = ReportManagerHelper.getTestMethodName();
+                context.setTestCaseName(ReportManagerHelper.getTestMethodName());
                 String gifFileName = FileSystems.getDefault().getSeparator() + System.currentTimeMillis() + "_"
-                        + testCaseName + ".gif";
-                gifRelativePathWithFileName = SCREENSHOT_FOLDER_PATH + SCREENSHOT_FOLDER_NAME + gifFileName;
+                        + context.getTestCaseName() + ".gif";
+                String gifRelativePathWithFileName = SCREENSHOT_FOLDER_PATH + SCREENSHOT_FOLDER_NAME + gifFileName;
+                context.setGifRelativePathWithFileName(gifRelativePathWithFileName);
 
                 // get the width and height of the current window of the browser
-                var height =  DriverFactoryHelper.getCurrentWindowSize().getHeight();
-                var width = DriverFactoryHelper.getCurrentWindowSize().getWidth();
-
-                // grab the output image type from the first image in the sequence
-                BufferedImage firstImage = ImageIO.read(new ByteArrayInputStream(screenshot));
-
-                //scaling it down
-                firstImage = Scalr.resize(firstImage, Scalr.Method.BALANCED, GIF_SIZE);
+                var windowSize = DriverFactoryHelper.getCurrentWindowSize();
 
                 // create a new BufferedOutputStream
                 FileActions.getInstance().createFile(SCREENSHOT_FOLDER_PATH + SCREENSHOT_FOLDER_NAME, gifFileName);
-                gifOutputStream.set(new FileImageOutputStream(new File(gifRelativePathWithFileName)));
-
-                // create a gif sequence with the type of the first image, 500 milliseconds
-                // between frames, which loops infinitely
-                gifWriter.set(
-                        new AnimatedGifManager(gifOutputStream.get(), firstImage.getType(), GIF_FRAME_DELAY));
+                context.setGifOutputStream(new FileImageOutputStream(new File(gifRelativePathWithFileName)));
 
-                // draw initial blank image to set the size of the GIF...
-                BufferedImage initialImage = new BufferedImage(width, height, firstImage.getType());
-                Graphics2D initialImageGraphics = initialImage.createGraphics();
-                initialImageGraphics.setBackground(Color.WHITE);
-                initialImageGraphics.setColor(Color.WHITE);
-                initialImageGraphics.clearRect(0, 0, width, height);
-
-                // write out initialImage to the sequence...
-                gifWriter.get().writeToSequence(initialImage);
-                initialImageGraphics.dispose();
+                // create a gif sequence with 500 milliseconds between frames, which loops infinitely
+                // the frames are decoded, scaled, and written on the encoder thread of this gif
+                context.setGifWriter(new AnimatedGifManager(context.getGifOutputStream(), GIF_FRAME_DELAY,
+                        windowSize.getWidth(), windowSize.getHeight(), ScreenshotManager::prepareAnimatedGifFrame));
 
                 // write out first image to the sequence...
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(toBufferedImage(firstImage)));
+                context.getGifWriter().appendFrame(screenshot);
             } catch (NullPointerException | NoSuchSessionException e) {
                 // this happens in case the start animated Gif is triggered in a none-test
                 // method
@@ -603,30 +699,124 @@ public class ScreenshotManager {
         }
     }
 
+    private static BufferedImage prepareAnimatedGifFrame(byte[] screenshot) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshot));
+            //scaling it down, the gif palette is much coarser than the difference between the scaling methods
+            image = Scalr.resize(image, Scalr.Method.SPEED, GIF_SIZE);
+            return overlayShaftEngineLogo(image);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] encodeScreenshotUnchecked(byte[] image) {
+        try {
+            return encodeScreenshot(image);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] encodeScreenshot(byte[] image) throws IOException {
+        if (!Boolean.TRUE.equals(SCREENSHOT_PARAMS_WATERMARK) && SCREENSHOT_PARAMS_OUTPUT_FORMAT == ScreenshotFormat.PNG
+                && SCREENSHOT_PARAMS_MAXIMUM_WIDTH <= 0) {
+            // pass-through, the driver already returns a PNG and there is nothing to change
+            return image;
+        }
+        BufferedImage screenshotImage = ImageIO.read(new ByteArrayInputStream(image));
+        if (screenshotImage == null) {
+            // not a format that can be decoded, so it is attached as is
+            return image;
+        }
+        if (SCREENSHOT_PARAMS_MAXIMUM_WIDTH > 0 && screenshotImage.getWidth() > SCREENSHOT_PARAMS_MAXIMUM_WIDTH) {
+            screenshotImage = Scalr.resize(screenshotImage, Scalr.Method.BALANCED, Scalr.Mode.FIT_TO_WIDTH, SCREENSHOT_PARAMS_MAXIMUM_WIDTH);
+        }
+        // add SHAFT_Engine logo overlay
+        overlayShaftEngineLogo(screenshotImage);
+
+        ByteArrayOutputStream screenshotOutputStream = new ByteArrayOutputStream(image.length);
+        switch (SCREENSHOT_PARAMS_OUTPUT_FORMAT) {
+            case JPEG -> writeJpeg(screenshotImage, screenshotOutputStream);
+            case PALETTE_PNG -> ImageIO.write(convertImage(screenshotImage, BufferedImage.TYPE_BYTE_INDEXED), "png", screenshotOutputStream);
+            default -> ImageIO.write(screenshotImage, "png", screenshotOutputStream);
+        }
+        return screenshotOutputStream.toByteArray();
+    }
+
+    private static void writeJpeg(BufferedImage image, OutputStream outputStream) throws IOException {
+        // JPEG has no alpha channel, so transparent pixels are flattened onto white
+        var rgbImage = image.getColorModel().hasAlpha() ? convertImage(image, BufferedImage.TYPE_INT_RGB) : image;
+        var jpegWriter = ImageIO.getImageWritersByFormatName("jpeg").next();
+        var writeParam = jpegWriter.getDefaultWriteParam();
+        writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        writeParam.setCompressionQuality(SCREENSHOT_PARAMS_JPEG_QUALITY);
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            jpegWriter.setOutput(imageOutputStream);
+            jpegWriter.write(null, new IIOImage(rgbImage, null, null), writeParam);
+        } finally {
+            jpegWriter.dispose();
+        }
+    }
+
+    private static BufferedImage convertImage(BufferedImage image, int imageType) {
+        var convertedImage = new BufferedImage(image.getWidth(), image.getHeight(), imageType);
+        var graphics = convertedImage.createGraphics();
+        graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+        return convertedImage;
+    }
+
     private static BufferedImage overlayShaftEngineLogo(BufferedImage screenshot) {
         if (Boolean.TRUE.equals(SCREENSHOT_PARAMS_WATERMARK)) {
-            try {
-                // create graphics object
+            var scaledWatermark = getScaledWatermark(screenshot.getWidth() / 8);
+            if (scaledWatermark != null) {
+                // the opacity is already applied to the cached watermark, so this is a single blit
                 Graphics2D screenshotGraphics = screenshot.createGraphics();
-                screenshotGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                screenshotGraphics.drawImage(scaledWatermark, screenshot.getWidth() - scaledWatermark.getWidth(),
+                        screenshot.getHeight() - scaledWatermark.getHeight(), null);
+                screenshotGraphics.dispose();
+            }
+        }
+        return screenshot;
+    }
+
+    /**
+     * @param targetWidth the width of the watermark in pixels
+     * @return the watermark scaled to the target width with the configured opacity applied, or null if the
+     * watermark image could not be read
+     */
+    private static BufferedImage getScaledWatermark(int targetWidth) {
+        var watermark = getWatermark();
+        if (watermark == null || targetWidth < 1) {
+            return null;
+        }
+        return scaledWatermarks.computeIfAbsent(targetWidth, width -> {
+            var scaledWatermark = toBufferedImage(watermark.getScaledInstance(width, -1, Image.SCALE_SMOOTH));
+            var compositedWatermark = new BufferedImage(scaledWatermark.getWidth(), scaledWatermark.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D watermarkGraphics = compositedWatermark.createGraphics();
+            watermarkGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, SCREENSHOT_PARAMS_WATERMARK_OPACITY));
+            watermarkGraphics.drawImage(scaledWatermark, 0, 0, null);
+            watermarkGraphics.dispose();
+            return compositedWatermark;
+        });
+    }
 
-                screenshotGraphics.drawImage(screenshot, 0, 0, null);
-                screenshotGraphics.setComposite(
-                        AlphaComposite.getInstance(AlphaComposite.SRC_OVER, SCREENSHOT_PARAMS_WATERMARK_OPACITY));
-                BufferedImage shaftLogo;
+    /**
+     * @return the watermark image, which is read only once per run, or null if it could not be read
+     */
+    private static synchronized BufferedImage getWatermark() {
+        if (!isWatermarkLoaded) {
+            isWatermarkLoaded = true;
+            try {
                 // read from custom location
-                String watermarkImagePath = Properties.internal.watermarkImagePath();
-                shaftLogo = ImageIO.read(new URL(watermarkImagePath));
-                shaftLogo = toBufferedImage(
-                        shaftLogo.getScaledInstance(screenshot.getWidth() / 8, -1, Image.SCALE_SMOOTH));
-                screenshotGraphics.drawImage(shaftLogo, screenshot.getWidth() - shaftLogo.getWidth(),
-                        screenshot.getHeight() - shaftLogo.getHeight(), null);
-                screenshotGraphics.dispose();
+                watermark = ImageIO.read(new URL(Properties.internal.watermarkImagePath()));
             } catch (IOException e) {
-                // do nothing and proceed to return the original screenshot
+                // do nothing and proceed to return the original screenshots
+                ReportManagerHelper.logDiscrete(e);
             }
         }
-        return screenshot;
+        return watermark;
     }
 
     private static BufferedImage toBufferedImage(Image img) {
@@ -648,8 +838,8 @@ public class ScreenshotManager {
 
     private static void startOrAppendToAnimatedGif(byte[] screenshot) {
         // ensure that animatedGif is started, else force start it
-        if (Boolean.TRUE.equals(CREATE_GIF)) {
-            if ("".equals(gifRelativePathWithFileName)) {
+        if (Boolean.TRUE.equals(CREATE_GIF) && !isRepeatedGifFrame(screenshot)) {
+            if ("".equals(ScreenshotContext.get().getGifRelativePathWithFileName())) {
                 startAnimatedGif(screenshot);
             } else {
                 appendToAnimatedGif(screenshot);
@@ -657,22 +847,34 @@ public class ScreenshotManager {
         }
     }
 
+    private static boolean isRepeatedGifFrame(byte[] screenshot) {
+        if (!Boolean.TRUE.equals(SCREENSHOT_PARAMS_DEDUPLICATE_SCREENSHOTS) || screenshot == null || screenshot.length == 0) {
+            return false;
+        }
+        var frameDigest = getDigest(screenshot);
+        var context = ScreenshotContext.get();
+        var isRepeated = frameDigest.equals(context.getLastGifFrameDigest());
+        context.setLastGifFrameDigest(frameDigest);
+        return isRepeated;
+    }
+
+    private static String getDigest(byte[] image) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256, so this never happens
+            return "";
+        }
+    }
+
     private static void appendToAnimatedGif(byte[] screenshot) {
         try {
-            BufferedImage image;
             if (screenshot != null) {
-                image = ImageIO.read(new ByteArrayInputStream(screenshot));
-                //scaling it down
-                image = Scalr.resize(image, Scalr.Method.BALANCED, GIF_SIZE);
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(image));
+                // only queue the raw frame, the encoder thread of the gif does the rest
+                ScreenshotContext.get().getGifWriter().appendFrame(screenshot);
             }
-        } catch (NoSuchSessionException e) {
-            // this happens when attempting to append to a non-existing gif, expected
-            // solution is to recreate the gif
-            // removed the old solution, the new fix is to ignore this exception, this will
-            // leave the gif intact and will attach it even after failing to append to it
-        } catch (WebDriverException | IOException | IllegalStateException | IllegalArgumentException | NullPointerException e) {
+        } catch (IllegalStateException | NullPointerException e) {
             ReportManagerHelper.logDiscrete(e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+package io.github.shafthq.shaft.gui.image;
+
+import com.shaft.cli.FileActions;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.imgproc.Imgproc;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A per-thread cache of decoded and preprocessed reference images, so that finding the same image again, or retrying
+ * a failed match, does not read, decode, and preprocess its file every time.
+ * <p>
+ * Entries are keyed by the absolute path and the last modified time of the reference image, so an updated image is
+ * loaded again, and its last found location is forgotten. The native memory of an entry is released as soon as it is
+ * evicted or replaced. The cache is kept per thread because a released Mat must never be in use by another thread.
+ */
+class TemplateCache {
+    private static final int MAXIMUM_CACHED_TEMPLATES = 16;
+    private static final ThreadLocal<Map<TemplateKey, Template>> cachedTemplates = ThreadLocal.withInitial(() -> new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TemplateKey, Template> eldest) {
+            if (size() > MAXIMUM_CACHED_TEMPLATES) {
+                eldest.getValue().release();
+                return true;
+            }
+            return false;
+        }
+    });
+
+    private TemplateCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the decoded and preprocessed reference image, loading it only if it is not cached or its file changed.
+     * The returned Mats are owned by the cache, so callers must neither modify nor release them.
+     *
+     * @param referenceImagePath the path of the reference image
+     * @return the decoded and preprocessed reference image, which is empty if the file could not be read
+     */
+    static Template get(String referenceImagePath) {
+        var referenceImage = new File(referenceImagePath).getAbsoluteFile();
+        var key = new TemplateKey(referenceImage.getPath(), referenceImage.lastModified());
+        var templates = cachedTemplates.get();
+        var template = templates.get(key);
+        if (template != null) {
+            return template;
+        }
+
+        // drop the entry of an older version of the same file, if any
+        templates.entrySet().removeIf(entry -> {
+            if (entry.getKey().absolutePath().equals(key.absolutePath())) {
+                entry.getValue().release();
+                return true;
+            }
+            return false;
+        });
+
+        var image = FileActions.getInstance().readFileAsByteArray(referenceImagePath);
+        try (var scope = new MatScope()) {
+            var original = scope.decode(image);
+            var preprocessed = scope.track(ImageProcessingActions.preprocess(image));
+            template = new Template(scope.keep(original), scope.keep(preprocessed));
+        }
+        if (template.isEmpty()) {
+            // the Mats were kept out of the scope, and an empty template is not cached, so nothing else releases them
+            template.release();
+        } else {
+            templates.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Releases the native memory of all the cached reference images of the current thread.
+     */
+    static void clear() {
+        cachedTemplates.get().values().forEach(Template::release);
+        cachedTemplates.remove();
+    }
+
+    private record TemplateKey(String absolutePath, long lastModified) {
+    }
+
+    /**
+     * A decoded reference image, its preprocessed version which is used for matching, the downscaled versions of the
+     * latter which are used for coarse searches, and the location where it was last found.
+     */
+    static class Template {
+        private final Mat original;
+        private final Mat preprocessed;
+        private final List<Mat> pyramid = new ArrayList<>();
+        private Rect lastFoundLocation;
+
+        private Template(Mat original, Mat preprocessed) {
+            this.original = original;
+            this.preprocessed = preprocessed;
+            this.pyramid.add(preprocessed);
+        }
+
+        Mat original() {
+            return original;
+        }
+
+        Mat preprocessed() {
+            return preprocessed;
+        }
+
+        /**
+         * @param level the number of times the preprocessed image is halved
+         * @return the preprocessed image downscaled to the target pyramid level, which is created on first use
+         */
+        Mat getPyramidLevel(int level) {
+            while (pyramid.size() <= level) {
+                var downscaled = new Mat();
+                Imgproc.pyrDown(pyramid.get(pyramid.size() - 1), downscaled);
+                pyramid.add(downscaled);
+            }
+            return pyramid.get(level);
+        }
+
+        /**
+         * @return the area of the last screenshot where this reference image was found, or null if it was never found
+         */
+        Rect getLastFoundLocation() {
+            return lastFoundLocation;
+        }
+
+        void setLastFoundLocation(Rect lastFoundLocation) {
+            this.lastFoundLocation = lastFoundLocation;
+        }
+
+        boolean isEmpty() {
+            return original.empty() || preprocessed.empty();
+        }
+
+        private void release() {
+            original.release();
+            pyramid.forEach(Mat::release);
+        }
+    }
+}
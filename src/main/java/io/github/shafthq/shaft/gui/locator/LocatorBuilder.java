@@ -1,24 +1,22 @@
 package io.github.shafthq.shaft.gui.locator;
 
-import lombok.Getter;
 import lombok.Setter;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.locators.RelativeLocator;
 
-import java.util.ArrayList;
+import java.util.*;
 
 public class LocatorBuilder {
-
-    @Getter
-    @Setter
-    static By shadowDomLocator;
+    private static final int MAXIMUM_COMPILED_LOCATORS = 1024;
+    private static final Map<CompiledLocatorKey, By> compiledLocators = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CompiledLocatorKey, By> eldest) {
+            return size() > MAXIMUM_COMPILED_LOCATORS;
+        }
+    });
     private String tagName = "*";
-    private ArrayList<String> parameters = new ArrayList<>();
+    private ArrayList<Predicate> parameters = new ArrayList<>();
     private String order = "";
-    @Getter
-    @Setter
-    static WebElement shadowElement;
     @Setter
     private static Locators mode = Locators.XPATH;
 
@@ -27,7 +25,7 @@ public class LocatorBuilder {
         // do nothing
     }
 
-    private LocatorBuilder(String tagName, ArrayList<String> parameters, @SuppressWarnings("SameParameterValue") String order) {
+    private LocatorBuilder(String tagName, ArrayList<Predicate> parameters, @SuppressWarnings("SameParameterValue") String order) {
         this.tagName = tagName;
         this.parameters = parameters;
         this.order = order;
@@ -38,47 +36,47 @@ public class LocatorBuilder {
     }
 
     public LocatorBuilder hasAttribute(String attribute) {
-        parameters.add("[@" + attribute + "]");
+        parameters.add(new Predicate("[@" + attribute + "]", "[" + attribute + "]"));
         return this;
     }
 
     public LocatorBuilder hasAttribute(String attribute, String value) {
-        parameters.add("[@" + attribute + "=\"" + value + "\"]");
+        parameters.add(new Predicate("[@" + attribute + "=\"" + value + "\"]", "[" + attribute + "=" + toCssString(value) + "]"));
         return this;
     }
 
     public LocatorBuilder containsAttribute(String attribute, String value) {
-        parameters.add("[contains(@" + attribute + ",\"" + value + "\")]");
+        parameters.add(new Predicate("[contains(@" + attribute + ",\"" + value + "\")]", "[" + attribute + "*=" + toCssString(value) + "]"));
         return this;
     }
 
     public LocatorBuilder hasId(String id) {
-        parameters.add("[@id=\"" + id + "\"]");
+        parameters.add(new Predicate("[@id=\"" + id + "\"]", id.matches("-?[_a-zA-Z][_a-zA-Z0-9-]*") ? "#" + id : "[id=" + toCssString(id) + "]"));
         return this;
     }
 
     public LocatorBuilder containsId(String id) {
-        parameters.add("[contains(@id,\"" + id + "\")]");
+        parameters.add(new Predicate("[contains(@id,\"" + id + "\")]", "[id*=" + toCssString(id) + "]"));
         return this;
     }
 
     public LocatorBuilder hasClass(String className) {
-        parameters.add("[@class=\"" + className + "\"]");
+        parameters.add(new Predicate("[@class=\"" + className + "\"]", "[class=" + toCssString(className) + "]"));
         return this;
     }
 
     public LocatorBuilder containsClass(String className) {
-        parameters.add("[contains(@class,\"" + className + "\")]");
+        parameters.add(new Predicate("[contains(@class,\"" + className + "\")]", "[class*=" + toCssString(className) + "]"));
         return this;
     }
 
     public LocatorBuilder hasText(String text) {
-        parameters.add("[.=\"" + text + "\"]");
+        parameters.add(new Predicate("[.=\"" + text + "\"]", null));
         return this;
     }
 
     public LocatorBuilder containsText(String text) {
-        parameters.add("[contains(.,\"" + text + "\")]");
+        parameters.add(new Predicate("[contains(.,\"" + text + "\")]", null));
         return this;
     }
 
@@ -107,46 +105,85 @@ public class LocatorBuilder {
     }
 
     public RelativeLocator.RelativeBy relativeBy() {
-        return RelativeLocator.with(By.xpath(buildXpathExpression()));
+        return RelativeLocator.with(build());
     }
 
+    /**
+     * Compiles the builder state into a CSS selector or an XPath expression, depending on the current mode. Compiled
+     * locators are cached and shared, so building an identical locator again does not evaluate any expressions.
+     *
+     * @return the compiled locator
+     */
     public By build() {
-        if (mode == Locators.CSS) {
-            return By.cssSelector(buildSelectorExpression());
-        }
-        return By.xpath(buildXpathExpression());
-    }
-
-    private String buildXpathExpression() {
-        StringBuilder xpathExpression = new StringBuilder();
-        xpathExpression.append("//")
-                .append(tagName);
-        parameters.forEach(xpathExpression::append);
-        if (!order.equals("")) {
-            return "(" + xpathExpression + ")[" + this.order + "]";
-        } else {
-            return xpathExpression.toString();
-        }
+        return compiledLocators.computeIfAbsent(new CompiledLocatorKey(mode, tagName, List.copyOf(parameters), order), CompiledLocatorKey::compile);
     }
 
     String buildSelectorExpression() {
-        StringBuilder cssExpression = new StringBuilder();
-        tagName = tagName.equals("*") ? "" : tagName;
-        cssExpression.append(tagName);
-        parameters.forEach(parameter -> cssExpression.append(parameter.replace("@", "")));
-        if (!order.equals("")) {
-            if (order.matches("[0-9]+")) {
-                order = ":nth-child(" + order + ")";
-            } else if (order.equals("last()")) {
-                order = ":last-child";
-            }
-            return "(" + cssExpression + ")" + this.order;
-        } else {
-            return cssExpression.toString();
+        var cssExpression = new CompiledLocatorKey(Locators.CSS, tagName, List.copyOf(parameters), order).toCssSelector();
+        if (cssExpression == null) {
+            throw new IllegalArgumentException("Text and index predicates cannot be expressed as a CSS selector, which is required inside shadow DOM.");
         }
+        return cssExpression;
     }
 
     public ShadowLocatorBuilder insideShadowDom(By shadowDomLocator) {
-        return new ShadowLocatorBuilder(this, shadowDomLocator, By.cssSelector(buildSelectorExpression()));
+        return new ShadowLocatorBuilder(shadowDomLocator, By.cssSelector(buildSelectorExpression()));
+    }
+
+    /**
+     * @return the value as a quoted CSS string, with backslashes and quotes escaped, and control characters such as
+     * newlines written as hexadecimal escapes, since CSS strings cannot contain them literally
+     */
+    private static String toCssString(String value) {
+        var cssString = new StringBuilder("\"");
+        value.codePoints().forEach(codePoint -> {
+            if (codePoint == '\\' || codePoint == '"') {
+                cssString.append('\\').appendCodePoint(codePoint);
+            } else if (Character.isISOControl(codePoint)) {
+                // the trailing space ends the escape, so that a following hexadecimal digit is not consumed by it
+                cssString.append('\\').append(Integer.toHexString(codePoint)).append(' ');
+            } else {
+                cssString.appendCodePoint(codePoint);
+            }
+        });
+        return cssString.append('"').toString();
+    }
+
+    /**
+     * A single locator predicate, in XPath syntax and in CSS syntax if it can be expressed as a CSS selector.
+     */
+    private record Predicate(String xpath, String css) {
+    }
+
+    private record CompiledLocatorKey(Locators mode, String tagName, List<Predicate> parameters, String order) {
+        private By compile() {
+            var cssSelector = mode == Locators.XPATH ? null : toCssSelector();
+            return cssSelector != null ? By.cssSelector(cssSelector) : By.xpath(toXpathExpression());
+        }
+
+        private String toXpathExpression() {
+            StringBuilder xpathExpression = new StringBuilder();
+            xpathExpression.append("//")
+                    .append(tagName);
+            parameters.forEach(parameter -> xpathExpression.append(parameter.xpath()));
+            if (!order.equals("")) {
+                return "(" + xpathExpression + ")[" + order + "]";
+            } else {
+                return xpathExpression.toString();
+            }
+        }
+
+        /**
+         * @return the equivalent CSS selector, or null if any of the predicates cannot be expressed in CSS; this
+         * includes the index, as CSS has no equivalent for picking the nth match across the whole document
+         */
+        private String toCssSelector() {
+            if (!order.equals("") || parameters.stream().anyMatch(parameter -> parameter.css() == null)) {
+                return null;
+            }
+            StringBuilder cssExpression = new StringBuilder(tagName.equals("*") ? "" : tagName);
+            parameters.forEach(parameter -> cssExpression.append(parameter.css()));
+            return cssExpression.length() == 0 ? "*" : cssExpression.toString();
+        }
     }
 }
@@ -1,5 +1,10 @@
 package io.github.shafthq.shaft.gui.locator;
 
+/**
+ * The output of {@link LocatorBuilder#build()}, which is XPATH by default. AUTO and CSS compile to a CSS selector
+ * whenever all the predicates can be expressed in CSS, as browsers evaluate it faster than XPath, and fall back to
+ * XPath otherwise. AUTO is opt-in, using {@code LocatorBuilder.setMode(Locators.AUTO)}.
+ */
 public enum Locators {
-    XPATH, CSS
+    XPATH, CSS, AUTO
 }
@@ -0,0 +1,141 @@
+package io.github.shafthq.shaft.gui.locator;
+
+import io.github.shafthq.shaft.tools.support.JavaScriptHelper;
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.locators.RelativeLocator;
+
+import java.util.*;
+
+/**
+ * Locates elements inside one or more nested shadow roots. The shadow host path is carried by the locator itself, so
+ * it is safe to use from parallel threads.
+ * <p>
+ * The whole host, shadow root, and target chain is resolved using a single script call. The innermost shadow host is
+ * cached per thread and reused until it is detached or the page is navigated.
+ */
+public class ShadowDomLocator extends By {
+    private static final ThreadLocal<Map<List<By>, WebElement>> cachedShadowHosts = ThreadLocal.withInitial(HashMap::new);
+    private final List<By> shadowHostPath;
+    private final By targetLocator;
+
+    /**
+     * @param shadowHostPath the locators of the shadow hosts, starting with the outermost one
+     * @param targetLocator  the locator of the target element inside the innermost shadow root
+     */
+    public ShadowDomLocator(List<By> shadowHostPath, By targetLocator) {
+        if (shadowHostPath.isEmpty()) {
+            throw new IllegalArgumentException("At least one shadow host locator is required.");
+        }
+        this.shadowHostPath = List.copyOf(shadowHostPath);
+        this.targetLocator = targetLocator;
+    }
+
+    /**
+     * Drops the cached shadow hosts of the current thread, for example after navigating to a new page.
+     */
+    public static void clearCache() {
+        cachedShadowHosts.remove();
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        var scriptSteps = getScriptSteps();
+        var javascriptExecutor = getJavascriptExecutor(context);
+        if (scriptSteps == null || javascriptExecutor == null) {
+            return findElementsNatively(context);
+        }
+        var startNode = context instanceof WebElement element ? element : null;
+        // hosts are only cached when resolving from the document, as the same path may be relative to other elements
+        var cachedHost = startNode == null ? cachedShadowHosts.get().get(shadowHostPath) : null;
+        Map<String, Object> result;
+        try {
+            result = resolve(javascriptExecutor, startNode, cachedHost, scriptSteps);
+        } catch (StaleElementReferenceException staleElementReferenceException) {
+            // the cached host belongs to a page that was navigated away from
+            cachedShadowHosts.get().remove(shadowHostPath);
+            result = resolve(javascriptExecutor, startNode, null, scriptSteps);
+        }
+        if (startNode == null) {
+            if (result.get("host") instanceof WebElement host) {
+                cachedShadowHosts.get().put(shadowHostPath, host);
+            } else {
+                cachedShadowHosts.get().remove(shadowHostPath);
+            }
+        }
+        List<WebElement> elements = new ArrayList<>();
+        if (result.get("elements") instanceof List<?> foundElements) {
+            foundElements.forEach(element -> elements.add((WebElement) element));
+        }
+        return elements;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> resolve(JavascriptExecutor javascriptExecutor, WebElement startNode, WebElement cachedHost, List<List<String>> scriptSteps) {
+        var result = javascriptExecutor.executeScript(JavaScriptHelper.ELEMENT_SHADOW_RESOLVE.getValue(), startNode, cachedHost, scriptSteps);
+        return result instanceof Map ? (Map<String, Object>) result : Map.of();
+    }
+
+    private List<WebElement> findElementsNatively(SearchContext context) {
+        var searchContext = context;
+        try {
+            for (By shadowHostLocator : shadowHostPath) {
+                var shadowHosts = searchContext.findElements(shadowHostLocator);
+                if (shadowHosts.isEmpty()) {
+                    return new ArrayList<>();
+                }
+                searchContext = shadowHosts.get(0).getShadowRoot();
+            }
+        } catch (NoSuchShadowRootException noSuchShadowRootException) {
+            return new ArrayList<>();
+        }
+        return searchContext.findElements(targetLocator);
+    }
+
+    /**
+     * @return the W3C strategy and value of every host and the target, or null if any of them cannot be evaluated by
+     * the script, knowing that only CSS based strategies can be evaluated inside a shadow root
+     */
+    private List<List<String>> getScriptSteps() {
+        List<List<String>> scriptSteps = new ArrayList<>();
+        List<By> locators = new ArrayList<>(shadowHostPath);
+        locators.add(targetLocator);
+        for (var i = 0; i < locators.size(); i++) {
+            if (!(locators.get(i) instanceof By.Remotable remotableLocator) || locators.get(i) instanceof RelativeLocator.RelativeBy
+                    || !(remotableLocator.getRemoteParameters().value() instanceof String locatorValue)) {
+                return null;
+            }
+            var using = remotableLocator.getRemoteParameters().using();
+            if (i > 0 && (using.equals("xpath") || using.contains("link text"))) {
+                return null;
+            }
+            scriptSteps.add(List.of(using, locatorValue));
+        }
+        return scriptSteps;
+    }
+
+    private static JavascriptExecutor getJavascriptExecutor(SearchContext context) {
+        if (context instanceof JavascriptExecutor javascriptExecutor) {
+            return javascriptExecutor;
+        } else if (context instanceof WrapsDriver wrapsDriver && wrapsDriver.getWrappedDriver() instanceof JavascriptExecutor javascriptExecutor) {
+            return javascriptExecutor;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ShadowDomLocator that && shadowHostPath.equals(that.shadowHostPath) && targetLocator.equals(that.targetLocator);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(shadowHostPath, targetLocator);
+    }
+
+    @Override
+    public String toString() {
+        var path = new StringBuilder("By.shadowDom: ");
+        shadowHostPath.forEach(shadowHostLocator -> path.append(shadowHostLocator).append(" >> "));
+        return path.append(targetLocator).toString();
+    }
+}
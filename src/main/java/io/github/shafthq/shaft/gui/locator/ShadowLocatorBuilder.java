@@ -1,24 +1,30 @@
 package io.github.shafthq.shaft.gui.locator;
 
-import io.github.shafthq.shaft.driver.DriverFactoryHelper;
-import io.github.shafthq.shaft.gui.element.ElementActionsHelper;
 import org.openqa.selenium.By;
 
+import java.util.LinkedList;
+
 public class ShadowLocatorBuilder {
-    public static By shadowDomLocator;
-    public static By cssSelector;
-    private final LocatorBuilder builder;
+    private final LinkedList<By> shadowHostPath = new LinkedList<>();
+    private final By cssSelector;
+
+    public ShadowLocatorBuilder(By shadowDomLocator, By cssSelector) {
+        this.shadowHostPath.add(shadowDomLocator);
+        this.cssSelector = cssSelector;
+    }
 
-    public ShadowLocatorBuilder(LocatorBuilder builder, By shadowDomLocator, By cssSelector) {
-        ShadowLocatorBuilder.shadowDomLocator = shadowDomLocator;
-        ShadowLocatorBuilder.cssSelector = cssSelector;
-        this.builder = builder;
+    /**
+     * Nests the current shadow DOM inside another one, for shadow hosts that are themselves inside a shadow root
+     *
+     * @param shadowDomLocator the locator of the outer shadow host
+     * @return self reference to continue building the locator
+     */
+    public ShadowLocatorBuilder insideShadowDom(By shadowDomLocator) {
+        shadowHostPath.addFirst(shadowDomLocator);
+        return this;
     }
 
     public By build() {
-        //TODO: wrap with a fluent wait
-        LocatorBuilder.setShadowElement(DriverFactoryHelper.getDriver().get().findElement(shadowDomLocator).getShadowRoot().findElement(By.cssSelector(builder.buildSelectorExpression())));
-        var suggestedUniqueXpath = ElementActionsHelper.suggestNewXpathUsingJavascript(DriverFactoryHelper.getDriver().get(), LocatorBuilder.getShadowElement());
-        return By.xpath(suggestedUniqueXpath);
+        return new ShadowDomLocator(shadowHostPath, cssSelector);
     }
-}
\ No newline at end of file
+}
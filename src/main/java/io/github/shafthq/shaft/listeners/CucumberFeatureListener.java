@@ -26,6 +26,7 @@ import io.cucumber.plugin.ConcurrentEventListener;
 import io.cucumber.plugin.event.*;
 import io.github.shafthq.shaft.gui.image.ScreenshotManager;
 import io.github.shafthq.shaft.gui.video.RecordManager;
+import io.github.shafthq.shaft.tools.io.AsyncAttachmentProcessor;
 import io.github.shafthq.shaft.tools.io.ReportManagerHelper;
 import io.qameta.allure.Allure;
 import io.qameta.allure.AllureLifecycle;
@@ -209,7 +210,13 @@ public class CucumberFeatureListener implements ConcurrentEventListener {
             if (System.getProperty("videoParams_scope").trim().equals("TestMethod")) {
                 RecordManager.attachVideoRecording();
             }
+            if (!event.getResult().getStatus().isOk()) {
+                ScreenshotManager.attachBufferedScreenshots();
+            }
+            // make sure that the screenshots taken by this scenario are written before the next one starts
+            AsyncAttachmentProcessor.flush();
             ScreenshotManager.attachAnimatedGif();
+            ScreenshotManager.endScreenshotContext();
             // configuration method attachment is not added to the report (Allure ->
             // threadContext.getCurrent(); -> empty)
             ReportManagerHelper.attachTestLog(lastStartedScenarioName,
@@ -2,6 +2,7 @@ package io.github.shafthq.shaft.listeners;
 
 import io.github.shafthq.shaft.gui.image.ImageProcessingActions;
 import io.github.shafthq.shaft.properties.PropertiesHelper;
+import io.github.shafthq.shaft.tools.io.AsyncAttachmentProcessor;
 import io.github.shafthq.shaft.tools.io.ExecutionSummaryReport;
 import io.github.shafthq.shaft.tools.io.IssueReporter;
 import io.github.shafthq.shaft.tools.io.ProjectStructureManager;
@@ -155,6 +156,7 @@ public class TestNGListener implements IAlterSuiteListener, IAnnotationTransform
     @Override
     public void onExecutionFinish() {
         ReportManagerHelper.setDiscreteLogging(true);
+        AsyncAttachmentProcessor.flushAll();
         JiraHelper.reportExecutionStatusToJira();
         GoogleTink.encrypt();
         ReportManagerHelper.generateAllureReportArchive();
@@ -2,9 +2,11 @@ package io.github.shafthq.shaft.listeners;
 
 import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
+import io.github.shafthq.shaft.gui.element.ElementHandleCache;
 import io.github.shafthq.shaft.gui.image.ScreenshotManager;
 import io.github.shafthq.shaft.gui.video.RecordManager;
 import io.github.shafthq.shaft.properties.Properties;
+import io.github.shafthq.shaft.tools.io.AsyncAttachmentProcessor;
 import io.github.shafthq.shaft.tools.io.ReportManagerHelper;
 import io.qameta.allure.Issue;
 import io.qameta.allure.Issues;
@@ -202,9 +204,21 @@ public class TestNGListenerHelper {
                 if (!attachment.equals(""))
                     attachments.add(attachment);
             }
+            if (iTestResult.getStatus() == ITestResult.FAILURE) {
+                // keep the step history of failed tests, passing tests drop it with their screenshot context
+                ScreenshotManager.attachBufferedScreenshots();
+            }
+            // make sure that the screenshots taken by this test are written before it ends
+            AsyncAttachmentProcessor.flush();
             attachment = ScreenshotManager.attachAnimatedGif();
             if (!attachment.equals(""))
                 attachments.add(attachment);
+            ScreenshotManager.endScreenshotContext();
+
+            if (ElementHandleCache.getHitCount() + ElementHandleCache.getMissCount() > 0) {
+                ReportManager.logDiscrete("Element handle cache served " + ElementHandleCache.getHitCount() + " lookups and missed " + ElementHandleCache.getMissCount() + ".");
+                ElementHandleCache.resetStatistics();
+            }
 
             String logText = TestNGListenerHelper.createTestLog(Reporter.getOutput(iTestResult));
             ReportManagerHelper.attachTestLog(iTestNGMethod.getMethodName(), logText);
@@ -0,0 +1,67 @@
+package io.github.shafthq.shaft.listeners;
+
+import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.gui.element.ElementPollingPolicy;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+
+import static io.github.shafthq.shaft.gui.element.ElementActionsHelper.getExpectedExceptions;
+
+/**
+ * An event firing decorator that waits for the target element inside the real findElement call, instead of waiting
+ * in a before-hook and then looking the element up again, so that a native findElement costs one lookup once the
+ * element is present.
+ * <p>
+ * The listeners are notified once per findElement: before and after it, or once on error if the wait times out. The
+ * failed polls in between are never reported.
+ *
+ * @param <T> the type of the decorated driver
+ */
+public class WaitingEventFiringDecorator<T extends WebDriver> extends EventFiringDecorator<T> {
+    private static final long DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT = Integer.parseInt(System.getProperty("defaultElementIdentificationTimeout").trim()) * 1000L;
+
+    public WaitingEventFiringDecorator(Class<T> targetClass, WebDriverListener... listeners) {
+        super(targetClass, listeners);
+    }
+
+    @Override
+    public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+        if (!(target.getOriginal() instanceof WebDriver driver) || !"findElement".equals(method.getName())
+                || args == null || args.length != 1 || !(args[0] instanceof By locator)) {
+            return super.call(target, method, args);
+        }
+        try {
+            // every poll is a plain lookup on the original driver, so a miss does not fire any listener events, and
+            // the element found by the wait is the one that is returned
+            WebElement element = ElementPollingPolicy.createWait(driver, locator, Duration.ofMillis(DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT))
+                    .ignoreAll(getExpectedExceptions(false))
+                    .until(nestedDriver -> nestedDriver.findElement(locator));
+            // the before and after events are fired once around this call by the decorator itself
+            return createProxy(createDecorated(element), WebElement.class);
+        } catch (org.openqa.selenium.TimeoutException timeoutException) {
+            // In case the element was not found / not visible and the timeout expired
+            ReportManager.logDiscrete(getTimeoutMessage(timeoutException));
+            // routed through onError, so that the listeners report the failure once, and rethrown by it as is
+            throw new InvocationTargetException(timeoutException);
+        }
+    }
+
+    private static String getTimeoutMessage(org.openqa.selenium.TimeoutException timeoutException) {
+        var message = String.valueOf(timeoutException.getMessage());
+        var cause = timeoutException.getCause();
+        if (cause != null && cause.getMessage() != null) {
+            var causeMessage = cause.getMessage();
+            var firstLineEnd = causeMessage.indexOf("\n");
+            message += " || " + (firstLineEnd >= 0 ? causeMessage.substring(0, firstLineEnd) : causeMessage);
+        }
+        return message;
+    }
+}
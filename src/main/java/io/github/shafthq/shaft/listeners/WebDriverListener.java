@@ -3,12 +3,12 @@ package io.github.shafthq.shaft.listeners;
 import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
 import io.github.shafthq.shaft.gui.image.ScreenshotManager;
+import io.github.shafthq.shaft.gui.locator.ShadowDomLocator;
 import io.github.shafthq.shaft.tools.io.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.lang.reflect.InvocationTargetException;
@@ -20,11 +20,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
-import static io.github.shafthq.shaft.gui.element.ElementActionsHelper.getExpectedExceptions;
-
 public class WebDriverListener implements org.openqa.selenium.support.events.WebDriverListener, io.appium.java_client.proxy.MethodCallListener {
     private static final long DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT = Integer.parseInt(System.getProperty("defaultElementIdentificationTimeout").trim()) * 1000L;
-    private static final int ELEMENT_IDENTIFICATION_POLLING_DELAY = 100; // milliseconds
 
     // Global
 
@@ -53,6 +50,7 @@ public class WebDriverListener implements org.openqa.selenium.support.events.Web
     }
 
     public void afterGet(WebDriver driver, String url) {
+        ShadowDomLocator.clearCache();
         ReportManager.log("Navigate to \"" + url + "\".");
     }
 
@@ -71,17 +69,7 @@ public class WebDriverListener implements org.openqa.selenium.support.events.Web
     }
 
     public void beforeFindElement(WebDriver driver, By locator) {
-        try {
-            new FluentWait<>(driver)
-                    .withTimeout(Duration.ofMillis(DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT))
-                    .pollingEvery(Duration.ofMillis(ELEMENT_IDENTIFICATION_POLLING_DELAY))
-                    .ignoreAll(getExpectedExceptions(false))
-                    .until(nestedDriver -> nestedDriver.findElement(locator));
-        } catch (org.openqa.selenium.TimeoutException timeoutException) {
-            // In case the element was not found / not visible and the timeout expired
-            ReportManager.logDiscrete(timeoutException.getMessage() + " || " + timeoutException.getCause().getMessage().substring(0, timeoutException.getCause().getMessage().indexOf("\n")));
-            throw timeoutException;
-        }
+        // the wait for the element is done by WaitingEventFiringDecorator as part of the lookup itself
     }
 
     public void afterFindElement(WebDriver driver, By locator, WebElement result) {
@@ -292,6 +280,7 @@ public class WebDriverListener implements org.openqa.selenium.support.events.Web
     }
 
     public void afterAnyNavigationCall(WebDriver.Navigation navigation, Method method, Object[] args, Object result) {
+        ShadowDomLocator.clearCache();
     }
 
     public void beforeTo(WebDriver.Navigation navigation, String url) {
@@ -0,0 +1,134 @@
+package io.github.shafthq.shaft.tools.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs the expensive processing of report attachments, such as decoding, watermarking, and encoding screenshots, on a
+ * bounded pool of background threads, enabled using the processAttachmentsAsynchronously property.
+ * <p>
+ * Deferred attachments are registered in the report right away so that they keep their place among the test steps,
+ * and their content is written once it is ready. When the queue is full the test thread processes the attachment
+ * itself, which applies back-pressure instead of growing the queue without limit.
+ */
+public class AsyncAttachmentProcessor {
+    private static final boolean PROCESS_ATTACHMENTS_ASYNCHRONOUSLY = Boolean.parseBoolean(System.getProperty("processAttachmentsAsynchronously"));
+    private static final int QUEUE_CAPACITY = 64;
+    private static final ThreadLocal<List<CompletableFuture<?>>> pendingTasks = ThreadLocal.withInitial(ArrayList::new);
+    private static final Set<CompletableFuture<?>> allPendingTasks = ConcurrentHashMap.newKeySet();
+    private static ThreadPoolExecutor executor;
+
+    private AsyncAttachmentProcessor() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Processes the attachment content in the background if asynchronous processing is enabled, or right away if not.
+     *
+     * @param processor the function that produces the final attachment content
+     * @return a stream of the processed content, which blocks on first read until the content is ready
+     */
+    public static InputStream process(Supplier<byte[]> processor) {
+        if (!PROCESS_ATTACHMENTS_ASYNCHRONOUSLY) {
+            return new ByteArrayInputStream(processor.get());
+        }
+        var content = CompletableFuture.supplyAsync(processor, getExecutor());
+        track(content);
+        return new DeferredAttachment(content);
+    }
+
+    /**
+     * Waits until all the attachments of the current thread are processed and written, so that they end up inside
+     * the test that created them. Called at the end of every test.
+     */
+    public static void flush() {
+        pendingTasks.get().forEach(AsyncAttachmentProcessor::await);
+        pendingTasks.remove();
+    }
+
+    /**
+     * Waits until the attachments of all the threads are processed and written. Called at the end of the execution.
+     */
+    public static void flushAll() {
+        List.copyOf(allPendingTasks).forEach(AsyncAttachmentProcessor::await);
+    }
+
+    /**
+     * Passes the processed content to the consumer once it is ready, or the reason why it could not be processed, so
+     * that the consumer can still write something for an attachment that it already registered.
+     */
+    static void whenReady(DeferredAttachment attachment, BiConsumer<byte[], Throwable> consumer) {
+        track(attachment.content.handle((content, throwable) -> {
+            consumer.accept(content, throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            return null;
+        }));
+    }
+
+    private static void track(CompletableFuture<?> task) {
+        pendingTasks.get().add(task);
+        allPendingTasks.add(task);
+        task.whenComplete((result, throwable) -> allPendingTasks.remove(task));
+    }
+
+    private static void await(CompletableFuture<?> task) {
+        try {
+            task.join();
+        } catch (CompletionException | CancellationException exception) {
+            ReportManagerHelper.logDiscrete(exception);
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            var threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            executor = new ThreadPoolExecutor(threadCount, threadCount, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                var thread = new Thread(runnable, "SHAFT-AttachmentProcessor");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * The content of an attachment that is still being processed. It can be read like any other stream, but
+     * attachment handlers that know about it register it right away and write its content once it is ready.
+     */
+    public static class DeferredAttachment extends InputStream {
+        private final CompletableFuture<byte[]> content;
+        private InputStream resolvedContent;
+
+        private DeferredAttachment(CompletableFuture<byte[]> content) {
+            this.content = content;
+        }
+
+        private InputStream resolve() throws IOException {
+            if (resolvedContent == null) {
+                try {
+                    resolvedContent = new ByteArrayInputStream(content.join());
+                } catch (CompletionException completionException) {
+                    throw new IOException(completionException.getCause());
+                }
+            }
+            return resolvedContent;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return resolve().read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return resolve().read(buffer, offset, length);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.shafthq.shaft.tools.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * The content of an attachment that is identical to a previous attachment of the same thread. Attachment handlers that
+ * know about it reference the previous attachment instead of writing the same content again, and only produce the
+ * content if there is nothing to reference.
+ */
+public class RepeatedAttachment extends InputStream {
+    private final String previousAttachmentName;
+    private final Supplier<byte[]> content;
+    private InputStream resolvedContent;
+
+    /**
+     * @param previousAttachmentName the name of the identical attachment that was created before this one
+     * @param content                the function that produces the content, in case the previous attachment was never
+     *                               created
+     */
+    public RepeatedAttachment(String previousAttachmentName, Supplier<byte[]> content) {
+        this.previousAttachmentName = previousAttachmentName;
+        this.content = content;
+    }
+
+    public String getPreviousAttachmentName() {
+        return previousAttachmentName;
+    }
+
+    private InputStream resolve() throws IOException {
+        if (resolvedContent == null) {
+            try {
+                resolvedContent = new ByteArrayInputStream(content.get());
+            } catch (UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+        }
+        return resolvedContent;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return resolve().read();
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        return resolve().read(buffer, offset, length);
+    }
+}
@@ -12,11 +12,13 @@ import com.shaft.api.RestActions;
 import com.shaft.cli.FileActions;
 import com.shaft.cli.TerminalActions;
 import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.enums.ScreenshotFormat;
 import io.github.shafthq.shaft.listeners.CucumberFeatureListener;
 import io.github.shafthq.shaft.properties.PropertyFileManager;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
+import io.qameta.allure.model.Attachment;
 import io.qameta.allure.model.Status;
 import lombok.Getter;
 import org.apache.commons.io.IOUtils;
@@ -66,6 +68,7 @@ public class ReportManagerHelper {
 
     private static String extentReportsFolderPath = "";
     private static final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+    private static final ThreadLocal<ScreenshotAttachment> lastScreenshotAttachment = new ThreadLocal<>();
     private static Logger logger;
     @Getter
     private static String extentReportFileName = "";
@@ -191,6 +194,14 @@ public class ReportManagerHelper {
         ReportManagerHelper.debugMode = debugMode;
     }
 
+    /**
+     * Forgets the last screenshot attached by the current thread, so that the screenshots of the next test never
+     * reference the attachments of the previous one.
+     */
+    public static void resetLastScreenshotAttachment() {
+        lastScreenshotAttachment.remove();
+    }
+
     public static void initializeAllureReportingEnvironment() {
         ReportManager.logDiscrete("Initializing Allure Reporting Environment...");
         ReportHelper.disableLogging();
@@ -662,10 +673,23 @@ public class ReportManagerHelper {
     }
 
     private static void createAttachment(String attachmentType, String attachmentName, InputStream attachmentContent) {
+        var previousScreenshot = lastScreenshotAttachment.get();
+        if (attachmentContent instanceof RepeatedAttachment repeatedAttachment && previousScreenshot != null
+                && previousScreenshot.name().equals(repeatedAttachment.getPreviousAttachmentName())
+                && attachmentType.toLowerCase().contains("screenshot")
+                && createAttachmentReference(attachmentType, attachmentName, previousScreenshot)) {
+            return;
+        }
+        if (attachmentContent instanceof AsyncAttachmentProcessor.DeferredAttachment deferredAttachment
+                && attachmentType.toLowerCase().contains("screenshot")
+                && createDeferredAttachment(attachmentType, attachmentName, deferredAttachment)) {
+            return;
+        }
         if (attachmentContent != null) {
-            var byteArrayOutputStream = new ByteArrayOutputStream();
+            var content = new byte[0];
             try {
-                attachmentContent.transferTo(byteArrayOutputStream);
+                // read the content once, and share it between all the reports instead of copying it for each of them
+                content = attachmentContent.readAllBytes();
             } catch (IOException e) {
                 var error = "Error while creating Attachment";
                 if (logger == null) {
@@ -675,34 +699,120 @@ public class ReportManagerHelper {
                 Reporter.log(error, false);
             }
             String attachmentDescription = attachmentType + " - " + attachmentName;
-            attachBasedOnFileType(attachmentType, attachmentName, byteArrayOutputStream, attachmentDescription);
-            logAttachmentAction(attachmentType, attachmentName, byteArrayOutputStream);
+            attachBasedOnFileType(attachmentType, attachmentName, content, attachmentDescription);
+            logAttachmentAction(attachmentType, attachmentName, content);
         }
     }
 
+    /**
+     * @return true if the attachment was registered, or false if there is no test case or step to attach it to, in
+     * which case the content has to be attached normally
+     */
+    private static boolean createDeferredAttachment(String attachmentType, String attachmentName, AsyncAttachmentProcessor.DeferredAttachment attachmentContent) {
+        String attachmentDescription = attachmentType + " - " + attachmentName;
+        // register the attachment now to keep its place in the report, assuming the configured format, and correct it
+        // once the content is processed and its actual format is known
+        var screenshotFormat = ScreenshotFormat.getConfiguredFormat();
+        var attachment = new Attachment().setName(attachmentDescription).setType(screenshotFormat.getMimeType())
+                .setSource(createAttachmentSource(screenshotFormat.getFileExtension()));
+        if (!addToCurrentTestCaseOrStep(attachment)) {
+            return false;
+        }
+        var screenshotAttachment = new ScreenshotAttachment(attachmentName, attachment);
+        lastScreenshotAttachment.set(screenshotAttachment);
+        var currentExtentTest = extentTest.get();
+        AsyncAttachmentProcessor.whenReady(attachmentContent, (content, throwable) -> {
+            if (throwable != null) {
+                // point the attachment to a note that explains what happened, instead of a file that was never written
+                logDiscrete(throwable);
+                screenshotAttachment.setContent("text/plain", createAttachmentSource(".txt"));
+                var note = "Failed to process the screenshot; " + throwable;
+                Allure.getLifecycle().writeAttachment(screenshotAttachment.source(), new ByteArrayInputStream(note.getBytes(StandardCharsets.UTF_8)));
+                return;
+            }
+            var actualFormat = ScreenshotFormat.detect(content);
+            if (!actualFormat.getFileExtension().equals(screenshotFormat.getFileExtension())) {
+                // for example an image that could not be decoded, which is attached as the driver returned it
+                screenshotAttachment.setContent(actualFormat.getMimeType(), createAttachmentSource(actualFormat.getFileExtension()));
+            }
+            Allure.getLifecycle().writeAttachment(screenshotAttachment.source(), new ByteArrayInputStream(content));
+            attachImageToExtentReport(currentExtentTest, actualFormat.getMimeType(), new ByteArrayInputStream(content));
+        });
+        createLogEntry("Successfully created attachment '" + attachmentDescription + "'", Level.INFO);
+        return true;
+    }
+
+    /**
+     * @return true if the reference was attached, or false if there is no test case or step to attach it to, in which
+     * case the content has to be attached normally
+     */
+    private static boolean createAttachmentReference(String attachmentType, String attachmentName, ScreenshotAttachment previousScreenshot) {
+        String attachmentDescription = attachmentType + " - " + attachmentName;
+        // point to the file of the identical previous screenshot instead of writing a new one
+        if (!addToCurrentTestCaseOrStep(previousScreenshot.createReference(attachmentDescription))) {
+            return false;
+        }
+        if (extentTest.get() != null) {
+            extentTest.get().info("Screenshot is identical to '" + previousScreenshot.name() + "'");
+        }
+        createLogEntry("Successfully created attachment '" + attachmentDescription + "'", Level.INFO);
+        return true;
+    }
+
+    /**
+     * Adds the attachment to the current step, or to the current test case if there is no step, like Allure does.
+     *
+     * @return false if there is no test case or step to attach it to
+     */
+    private static boolean addToCurrentTestCaseOrStep(Attachment attachment) {
+        var lifecycle = Allure.getLifecycle();
+        var currentTestCaseOrStep = lifecycle.getCurrentTestCaseOrStep();
+        if (currentTestCaseOrStep.isEmpty()) {
+            return false;
+        }
+        var uuid = currentTestCaseOrStep.get();
+        if (uuid.equals(lifecycle.getCurrentTestCase().orElse(null))) {
+            lifecycle.updateTestCase(uuid, testResult -> testResult.getAttachments().add(attachment));
+        } else {
+            lifecycle.updateStep(uuid, stepResult -> stepResult.getAttachments().add(attachment));
+        }
+        return true;
+    }
+
+    /**
+     * @return a unique attachment file name, following the naming scheme of Allure
+     */
+    private static String createAttachmentSource(String fileExtension) {
+        return UUID.randomUUID() + "-attachment" + fileExtension;
+    }
+
     @SuppressWarnings("SpellCheckingInspection")
     private static void attachBasedOnFileType(String attachmentType, String attachmentName,
-                                              ByteArrayOutputStream attachmentContent, String attachmentDescription) {
-        var content = new ByteArrayInputStream(attachmentContent.toByteArray());
+                                              byte[] attachmentContent, String attachmentDescription) {
+        var content = new ByteArrayInputStream(attachmentContent);
         if (attachmentType.toLowerCase().contains("screenshot")) {
-            Allure.addAttachment(attachmentDescription, "image/png", content, ".png");
-            attachImageToExtentReport("image/png", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            var screenshotFormat = ScreenshotFormat.detect(attachmentContent);
+            var attachmentSource = Allure.getLifecycle().prepareAttachment(attachmentDescription, screenshotFormat.getMimeType(), screenshotFormat.getFileExtension());
+            Allure.getLifecycle().writeAttachment(attachmentSource, content);
+            lastScreenshotAttachment.set(new ScreenshotAttachment(attachmentName, new Attachment().setName(attachmentDescription)
+                    .setType(screenshotFormat.getMimeType()).setSource(attachmentSource)));
+            attachImageToExtentReport(screenshotFormat.getMimeType(), new ByteArrayInputStream(attachmentContent));
         } else if (attachmentType.toLowerCase().contains("recording")) {
             Allure.addAttachment(attachmentDescription, "video/mp4", content, ".mp4");
         } else if (attachmentType.toLowerCase().contains("gif")) {
             Allure.addAttachment(attachmentDescription, "image/gif", content, ".gif");
-            attachImageToExtentReport("image/gif", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            attachImageToExtentReport("image/gif", new ByteArrayInputStream(attachmentContent));
         } else if (attachmentType.toLowerCase().contains("csv") || attachmentName.toLowerCase().contains("csv")) {
             Allure.addAttachment(attachmentDescription, "text/csv", content, ".csv");
-            attachCodeBlockToExtentReport("text/csv", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            attachCodeBlockToExtentReport("text/csv", new ByteArrayInputStream(attachmentContent));
         } else if (attachmentType.toLowerCase().contains("xml") || attachmentName.toLowerCase().contains("xml")) {
             Allure.addAttachment(attachmentDescription, "text/xml", content, ".xml");
-            attachCodeBlockToExtentReport("text/xml", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            attachCodeBlockToExtentReport("text/xml", new ByteArrayInputStream(attachmentContent));
         } else if (attachmentType.toLowerCase().contains("excel") || attachmentName.toLowerCase().contains("excel")) {
             Allure.addAttachment(attachmentDescription, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", content, ".xlsx");
         } else if (attachmentType.toLowerCase().contains("json") || attachmentName.toLowerCase().contains("json")) {
             Allure.addAttachment(attachmentDescription, "text/json", content, ".json");
-            attachCodeBlockToExtentReport("text/json", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            attachCodeBlockToExtentReport("text/json", new ByteArrayInputStream(attachmentContent));
         } else if (attachmentType.toLowerCase().contains("properties")) {
             Allure.addAttachment(attachmentDescription, "text/plain", content, ".properties");
         } else if (attachmentType.toLowerCase().contains("link")) {
@@ -718,7 +828,7 @@ public class ReportManagerHelper {
         }
     }
 
-    private static void logAttachmentAction(String attachmentType, String attachmentName, ByteArrayOutputStream attachmentContent) {
+    private static void logAttachmentAction(String attachmentType, String attachmentName, byte[] attachmentContent) {
         createLogEntry("Successfully created attachment '" + attachmentType + " - " + attachmentName + "'", Level.INFO);
         if (debugMode && !attachmentType.contains(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE)
                 && !attachmentType.equalsIgnoreCase("Selenium WebDriver Logs")
@@ -729,7 +839,7 @@ public class ReportManagerHelper {
 
             String theString;
             var br = new BufferedReader(
-                    new InputStreamReader(new ByteArrayInputStream(attachmentContent.toByteArray()), StandardCharsets.UTF_8));
+                    new InputStreamReader(new ByteArrayInputStream(attachmentContent), StandardCharsets.UTF_8));
             theString = br.lines().collect(Collectors.joining(System.lineSeparator()));
             if (!theString.isEmpty()) {
                 String logEntry = REPORT_MANAGER_PREFIX + "Debugging Attachment Entry" + " @" + timestamp
@@ -758,13 +868,17 @@ public class ReportManagerHelper {
     }
 
     private static void attachImageToExtentReport(String attachmentType, InputStream attachmentContent) {
-        if (extentTest.get() !=null) {
+        attachImageToExtentReport(extentTest.get(), attachmentType, attachmentContent);
+    }
+
+    private static void attachImageToExtentReport(ExtentTest targetExtentTest, String attachmentType, InputStream attachmentContent) {
+        if (targetExtentTest != null) {
             try {
                 var image = Base64.getEncoder().encodeToString(IOUtils.toByteArray(attachmentContent));
                 if (attachmentType.toLowerCase().contains("gif")) {
-                    extentTest.get().addScreenCaptureFromBase64String(image);
+                    targetExtentTest.addScreenCaptureFromBase64String(image);
                 } else {
-                    extentTest.get().info(MediaEntityBuilder.createScreenCaptureFromBase64String(image).build());
+                    targetExtentTest.info(MediaEntityBuilder.createScreenCaptureFromBase64String(image).build());
                 }
             } catch (IOException e) {
                 ReportManager.logDiscrete("Failed to attach screenshot to extentReport.");
@@ -1092,4 +1206,36 @@ public class ReportManagerHelper {
         return duration;
     }
 
+    /**
+     * The last screenshot that was attached, together with the references to it, which all point to the same file. The
+     * type and file of a screenshot that is still being processed can change once its actual format is known.
+     */
+    private static final class ScreenshotAttachment {
+        private final String name;
+        private final List<Attachment> attachments = new ArrayList<>();
+
+        private ScreenshotAttachment(String name, Attachment attachment) {
+            this.name = name;
+            this.attachments.add(attachment);
+        }
+
+        private String name() {
+            return name;
+        }
+
+        private synchronized String source() {
+            return attachments.get(0).getSource();
+        }
+
+        private synchronized Attachment createReference(String attachmentDescription) {
+            var screenshot = attachments.get(0);
+            var reference = new Attachment().setName(attachmentDescription).setType(screenshot.getType()).setSource(screenshot.getSource());
+            attachments.add(reference);
+            return reference;
+        }
+
+        private synchronized void setContent(String mimeType, String source) {
+            attachments.forEach(attachment -> attachment.setType(mimeType).setSource(source));
+        }
+    }
 }
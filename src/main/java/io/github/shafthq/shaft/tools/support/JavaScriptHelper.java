@@ -285,6 +285,218 @@ public enum JavaScriptHelper {
             }"""),
     ELEMENT_SCROLL_TO_VIEWPORT(
             "(function(){'use strict';var api;api=function(x,y){var elm,scrollX,scrollY,newX,newY;scrollX=window.pageXOffset;scrollY=window.pageYOffset;window.scrollTo(x,y);newX=x-window.pageXOffset;newY=y-window.pageYOffset;elm=this.elementFromPoint(newX,newY);window.scrollTo(scrollX,scrollY);return elm;};this.document.elementFromAbsolutePoint=api;}).call(this);return document.elementFromAbsolutePoint(arguments[0], arguments[1]);"),
+    ELEMENT_RESOLVE("""
+            /** find, count, scroll to, and describe the first matching element in a single call */
+            var using = arguments[0], value = arguments[1], scroll = arguments[2], getHtml = arguments[3], getName = arguments[4];
+            """ + Fragments.FIND_ALL + """
+            var matches = findAll(using, value);
+            if (matches === null) return {supported: false};
+            if (matches.length === 0) return {supported: true, count: 0};
+            var target = matches[0];
+            if (scroll) target.scrollIntoView({behavior: 'auto', block: 'center', inline: 'center'});
+            var accessibleName = '';
+            if (getName) {
+                var labelledBy = target.getAttribute('aria-labelledby');
+                if (target.getAttribute('aria-label')) {
+                    accessibleName = target.getAttribute('aria-label');
+                } else if (labelledBy) {
+                    accessibleName = labelledBy.split(' ').map(function (id) {
+                        var label = document.getElementById(id);
+                        return label ? label.textContent : '';
+                    }).join(' ');
+                } else if (target.labels && target.labels.length > 0) {
+                    accessibleName = target.labels[0].textContent;
+                } else {
+                    var nameFromContent = /^(A|BUTTON|LABEL|OPTION|LEGEND|SUMMARY|CAPTION|TH|TD|LI|H[1-6])$/.test(target.tagName);
+                    accessibleName = target.getAttribute('alt') || target.getAttribute('title') || target.getAttribute('placeholder') || (nameFromContent ? target.innerText : '') || '';
+                }
+            }
+            return {
+                supported: true,
+                count: matches.length,
+                element: target,
+                outerHTML: getHtml ? target.outerHTML : '',
+                innerHTML: getHtml ? target.innerHTML : '',
+                accessibleName: (accessibleName || '').trim()
+            };"""),
+    ELEMENTS_BULK_READ("""
+            /** read the readiness, texts, attribute values, or table cells of many elements in a single call */
+            var mode = arguments[0], locators = arguments[1], attributeName = arguments[2];
+            """ + Fragments.FIND_ALL + """
+            var find = function (locator) {
+                return findAll(locator[0], locator[1]) || [];
+            };
+            var readText = function (element) {
+                var text = (element.innerText || '').trim();
+                if (!text) text = (element.textContent || '').trim();
+                if (!text && element.value !== undefined && element.value !== null) text = String(element.value);
+                return text;
+            };
+            var readAttribute = function (element) {
+                var name = attributeName === 'class' ? 'className' : attributeName === 'readonly' ? 'readOnly' : attributeName;
+                var property = element[name];
+                if (typeof property === 'boolean') return property ? 'true' : null;
+                if (property !== undefined && property !== null && typeof property !== 'object' && typeof property !== 'function') return String(property);
+                return element.getAttribute(attributeName);
+            };
+            var isDisplayed = function (element) {
+                var style = window.getComputedStyle(element);
+                return style.display !== 'none' && style.visibility !== 'hidden' && element.getClientRects().length > 0;
+            };
+            switch (mode) {
+                case 'ready':
+                    return locators.map(function (locator) {
+                        var matches = find(locator);
+                        return matches.length > 0 && isDisplayed(matches[0]) ? matches[0] : null;
+                    });
+                case 'texts':
+                    return locators.map(function (locator) {
+                        // missing, ambiguous, and hidden elements are left to the checked element identification
+                        var matches = find(locator);
+                        return matches.length === 1 && isDisplayed(matches[0]) ? readText(matches[0]) : null;
+                    });
+                case 'attributes':
+                    return find(locators[0]).map(readAttribute);
+                case 'table':
+                    var tables = find(locators[0]);
+                    if (tables.length === 0) return null;
+                    var rows = tables[0].rows || tables[0].querySelectorAll('tr');
+                    var tableData = [];
+                    for (var r = 0; r < rows.length; r++) {
+                        var cells = rows[r].cells || rows[r].querySelectorAll('th, td');
+                        var rowData = [];
+                        for (var c = 0; c < cells.length; c++) rowData.push(readText(cells[c]));
+                        tableData.push(rowData);
+                    }
+                    return tableData;
+            }
+            return null;"""),
+    ELEMENT_SHADOW_RESOLVE("""
+            /** walk the shadow host chain and find the matching elements inside the innermost shadow root in a single call */
+            var startNode = arguments[0], cachedHost = arguments[1], steps = arguments[2];
+            var findAll = function (scope, using, value) {
+                switch (using) {
+                    case 'css selector': return scope.querySelectorAll(value);
+                    case 'id': return scope.querySelectorAll('#' + CSS.escape(value));
+                    case 'name': return scope.querySelectorAll('[name="' + CSS.escape(value) + '"]');
+                    case 'class name': return scope.querySelectorAll('.' + CSS.escape(value));
+                    case 'tag name': return scope.querySelectorAll(value);
+                    case 'xpath':
+                        var matches = [];
+                        var snapshot = document.evaluate(value, scope, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                        for (var i = 0; i < snapshot.snapshotLength; i++) matches.push(snapshot.snapshotItem(i));
+                        return matches;
+                    default: return [];
+                }
+            };
+            var host = cachedHost && cachedHost.isConnected && cachedHost.shadowRoot ? cachedHost : null;
+            if (!host) {
+                var scope = startNode || document;
+                for (var j = 0; j < steps.length - 1; j++) {
+                    var hosts = findAll(scope, steps[j][0], steps[j][1]);
+                    host = hosts.length > 0 ? hosts[0] : null;
+                    if (!host || !host.shadowRoot) return {elements: [], host: null};
+                    scope = host.shadowRoot;
+                }
+            }
+            var target = steps[steps.length - 1];
+            var elements = Array.prototype.filter.call(findAll(host.shadowRoot, target[0], target[1]), function (element) {
+                return element.nodeType === 1;
+            });
+            return {elements: elements, host: host};"""),
+    ELEMENT_CACHE_DOM_TOKEN("""
+            var tracker = window.__shaftDomTracker;
+            if (!tracker || tracker.document !== document) {
+                tracker = {
+                    id: Date.now().toString(36) + Math.random().toString(36).substring(2),
+                    version: 0,
+                    document: document
+                };
+                var countMutations = function (mutations) {
+                    if (mutations.length > 0) tracker.version++;
+                };
+                tracker.observer = new MutationObserver(countMutations);
+                tracker.observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+                tracker.countMutations = countMutations;
+                window.__shaftDomTracker = tracker;
+            }
+            tracker.countMutations(tracker.observer.takeRecords());
+            return tracker.id + ':' + tracker.version;"""),
+    ELEMENT_SET_STYLE_UNTRACKED("""
+            /** set the inline style of an element without counting it as a DOM change, so that highlighting does not invalidate cached element handles */
+            var tracker = window.__shaftDomTracker, tracked = tracker && tracker.document === document;
+            // count the changes that happened so far, so that only the style change below is skipped
+            if (tracked) tracker.countMutations(tracker.observer.takeRecords());
+            arguments[0].setAttribute('style', arguments[1]);
+            if (tracked) tracker.observer.takeRecords();"""),
+    ELEMENT_SCREENSHOT_RECT("""
+            /** the element rect relative to the viewport, the scroll offsets, the viewport size, and the page width, all in CSS pixels */
+            var rect = arguments[0].getBoundingClientRect(), root = document.documentElement;
+            return [rect.left, rect.top, rect.width, rect.height, window.pageXOffset, window.pageYOffset,
+                window.innerWidth, window.innerHeight, Math.max(root.scrollWidth, root.clientWidth)];"""),
+    FULL_PAGE_SCREENSHOT_PREPARE("""
+            /** hide the skipped elements, and when stitching also hide the scrollbars and scroll to the top, in a single call */
+            var skippedElements = arguments[0] || [], stitch = arguments[1], done = arguments[arguments.length - 1];
+            var root = document.documentElement, body = document.body || root;
+            for (var i = 0; i < skippedElements.length; i++) {
+                if (skippedElements[i].__shaftDisplay === undefined) skippedElements[i].__shaftDisplay = skippedElements[i].style.display;
+                skippedElements[i].style.display = 'none';
+            }
+            if (!stitch) {
+                done(null);
+                return;
+            }
+            if (root.__shaftOverflow === undefined) {
+                root.__shaftOverflow = root.style.overflow;
+                root.__shaftScrollY = window.pageYOffset;
+            }
+            root.style.overflow = 'hidden';
+            window.scrollTo({top: 0, left: 0, behavior: 'instant'});
+            var scrollHeight = Math.max(body.scrollHeight, root.scrollHeight, body.offsetHeight, root.offsetHeight, body.clientHeight, root.clientHeight);
+            var finished = false, finish = function () {
+                if (!finished) {
+                    finished = true;
+                    done([scrollHeight, window.devicePixelRatio || 1]);
+                }
+            };
+            requestAnimationFrame(function () {
+                requestAnimationFrame(finish);
+            });
+            // animation frames are throttled or paused in background windows, so they are not waited for too long
+            setTimeout(finish, 100);"""),
+    FULL_PAGE_SCREENSHOT_SCROLL("""
+            /** hide the elements that should only appear once, scroll, and wait for the new position to be painted */
+            var elementsToHide = arguments[1] || [], done = arguments[arguments.length - 1];
+            for (var i = 0; i < elementsToHide.length; i++) {
+                if (elementsToHide[i].__shaftDisplay === undefined) elementsToHide[i].__shaftDisplay = elementsToHide[i].style.display;
+                elementsToHide[i].style.display = 'none';
+            }
+            window.scrollTo({top: arguments[0], left: 0, behavior: 'instant'});
+            var finished = false, finish = function () {
+                if (!finished) {
+                    finished = true;
+                    done(window.pageYOffset);
+                }
+            };
+            requestAnimationFrame(function () {
+                requestAnimationFrame(finish);
+            });
+            // animation frames are throttled or paused in background windows, so they are not waited for too long
+            setTimeout(finish, 100);"""),
+    FULL_PAGE_SCREENSHOT_RESTORE("""
+            var skippedElements = arguments[0] || [], root = document.documentElement;
+            for (var i = 0; i < skippedElements.length; i++) {
+                if (skippedElements[i].__shaftDisplay !== undefined) {
+                    skippedElements[i].style.display = skippedElements[i].__shaftDisplay;
+                    delete skippedElements[i].__shaftDisplay;
+                }
+            }
+            if (root.__shaftOverflow !== undefined) {
+                root.style.overflow = root.__shaftOverflow;
+                window.scrollTo({top: root.__shaftScrollY, left: 0, behavior: 'instant'});
+                delete root.__shaftOverflow;
+                delete root.__shaftScrollY;
+            }"""),
     WINDOW_FOCUS("window.focus();"), WINDOW_RESET_LOCATION("window.moveTo(0,0);"),
     WINDOW_RESIZE("window.resizeTo($WIDTH,$HEIGHT);"),
     DOCUMENT_READYSTATE("return document.readyState");
@@ -298,4 +510,48 @@ public enum JavaScriptHelper {
     public String getValue() {
         return value;
     }
+
+    /**
+     * Script fragments that are shared by several scripts, so that they cannot drift apart.
+     */
+    private static final class Fragments {
+        /**
+         * Defines findAll(using, value), which returns the elements of the document that match a Selenium locator
+         * strategy, or null if the strategy cannot be evaluated by a script.
+         */
+        private static final String FIND_ALL = """
+                var findAll = function (using, value) {
+                    var matches = [];
+                    var collect = function (list) {
+                        for (var i = 0; i < list.length; i++) {
+                            if (list[i] && list[i].nodeType === 1) matches.push(list[i]);
+                        }
+                    };
+                    switch (using) {
+                        case 'css selector': collect(document.querySelectorAll(value)); break;
+                        case 'id': collect(document.querySelectorAll('#' + CSS.escape(value))); break;
+                        case 'name': collect(document.getElementsByName(value)); break;
+                        case 'class name': collect(document.getElementsByClassName(value)); break;
+                        case 'tag name': collect(document.getElementsByTagName(value)); break;
+                        case 'xpath':
+                            var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                            for (var j = 0; j < snapshot.snapshotLength; j++) {
+                                if (snapshot.snapshotItem(j).nodeType === 1) matches.push(snapshot.snapshotItem(j));
+                            }
+                            break;
+                        case 'link text':
+                        case 'partial link text':
+                            var anchors = document.getElementsByTagName('a');
+                            for (var k = 0; k < anchors.length; k++) {
+                                var anchorText = (anchors[k].innerText || anchors[k].textContent || '').trim();
+                                if ((using === 'link text' && anchorText === value) || (using === 'partial link text' && anchorText.indexOf(value) !== -1)) matches.push(anchors[k]);
+                            }
+                            break;
+                        default:
+                            return null;
+                    }
+                    return matches;
+                };
+                """;
+    }
 }
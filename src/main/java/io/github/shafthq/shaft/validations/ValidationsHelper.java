@@ -149,8 +149,8 @@ public class ValidationsHelper {
             actualValue = switch (elementAttribute.toLowerCase()) {
                 case "text" -> new ElementActions().getText(elementLocator);
                 case "texttrimmed" -> new ElementActions().getText(elementLocator).trim();
-                case "tagname" -> ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getTagName();
-                case "size" -> ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getSize().toString();
+                case "tagname" -> ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().getTagName();
+                case "size" -> ElementActionsHelper.identifyUniqueElement(driver, elementLocator).getFirstElement().getSize().toString();
                 case "selectedtext" -> new ElementActions().getSelectedText(elementLocator);
                 default -> new ElementActions().getAttribute(elementLocator, elementAttribute);
             };
@@ -0,0 +1,51 @@
+package testPackage;
+
+import com.shaft.driver.SHAFT;
+import org.openqa.selenium.By;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class Test_bulkElementReads {
+    private static final ThreadLocal<SHAFT.GUI.WebDriver> driver = new ThreadLocal<>();
+    private static final String TABLES_URL = "https://the-internet.herokuapp.com/tables";
+
+    @Test
+    public void getTexts_multipleLocators_expectedToMatchSingleReads() {
+        driver.get().browser().navigateToURL(TABLES_URL);
+        var firstNameCell = By.xpath("//table[@id='table1']//tr[1]/td[2]");
+        var lastNameCell = By.xpath("//table[@id='table1']//tr[1]/td[1]");
+        var texts = driver.get().element().getTexts(List.of(firstNameCell, lastNameCell));
+        SHAFT.Validations.assertThat().object(texts.get(0)).isEqualTo(driver.get().element().getText(firstNameCell)).perform();
+        SHAFT.Validations.assertThat().object(texts.get(1)).isEqualTo(driver.get().element().getText(lastNameCell)).perform();
+    }
+
+    @Test
+    public void getAttributes_allMatches_expectedToReturnOneValuePerElement() {
+        driver.get().browser().navigateToURL(TABLES_URL);
+        var classNames = driver.get().element().getAttributes(By.cssSelector("#table2 tbody td.email"), "class");
+        SHAFT.Validations.assertThat().number(classNames.size()).isEqualTo(4).perform();
+        SHAFT.Validations.assertThat().object(classNames.get(0)).isEqualTo("email").perform();
+    }
+
+    @Test
+    public void getTableData_table_expectedToReturnHeaderAndBodyRows() {
+        driver.get().browser().navigateToURL(TABLES_URL);
+        var tableData = driver.get().element().getTableData(By.id("table1"));
+        SHAFT.Validations.assertThat().number(tableData.size()).isEqualTo(5).perform();
+        SHAFT.Validations.assertThat().object(tableData.get(0).get(0)).isEqualTo("Last Name").perform();
+        SHAFT.Validations.assertThat().object(tableData.get(1).get(0)).isEqualTo("Smith").perform();
+    }
+
+    @BeforeMethod
+    public void beforeMethod() {
+        driver.set(new SHAFT.GUI.WebDriver());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() {
+        driver.get().quit();
+    }
+}
@@ -1,9 +1,25 @@
 package testPackage;
 
+import com.shaft.driver.SHAFT;
 import io.github.shafthq.shaft.gui.image.ImageProcessingActions;
+import io.github.shafthq.shaft.validations.ValidationsHelper;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
 public class Test_imageComparison {
+    private Path referenceFolder;
+    private Path testFolder;
+
     @Test
     public void f() {
         String refrenceFolderPath = "src/test/resources/TestDataFiles/imageComparer/reference";
@@ -11,4 +27,69 @@ public class Test_imageComparison {
 
         ImageProcessingActions.compareImageFolders(refrenceFolderPath, testFolderPath, 98);
     }
+
+    @Test
+    public void compareImageFolders_identicalImages_expectedToPass() throws IOException {
+        writeNoiseImage(referenceFolder, "first.png", 1);
+        writeNoiseImage(referenceFolder, "second.png", 2);
+        writeNoiseImage(testFolder, "first.png", 1);
+        writeNoiseImage(testFolder, "second.png", 2);
+
+        var result = ImageProcessingActions.compareImageFolders(referenceFolder.toString(), testFolder.toString(), 98);
+
+        SHAFT.Validations.assertThat().object(result.isPassed()).isTrue().perform();
+        SHAFT.Validations.assertThat().number(result.passedImagesCount()).isEqualTo(2).perform();
+        SHAFT.Validations.assertThat().number(result.failedImagesCount()).isEqualTo(0).perform();
+    }
+
+    @Test
+    public void compareImageFolders_oneDifferentImage_expectedToFailAndCopyTheFailedPair() throws IOException {
+        writeNoiseImage(referenceFolder, "first.png", 1);
+        writeNoiseImage(referenceFolder, "second.png", 2);
+        writeNoiseImage(testFolder, "first.png", 1);
+        writeNoiseImage(testFolder, "second.png", 3);
+
+        var result = ImageProcessingActions.compareImageFolders(referenceFolder.toString(), testFolder.toString(), 98);
+        // the failed pair is also reported as a failed verification, which is expected here
+        ValidationsHelper.resetVerificationStateAfterFailing();
+
+        SHAFT.Validations.assertThat().object(result.isPassed()).isFalse().perform();
+        SHAFT.Validations.assertThat().number(result.passedImagesCount()).isEqualTo(1).perform();
+        SHAFT.Validations.assertThat().number(result.failedImagesCount()).isEqualTo(1).perform();
+        SHAFT.Validations.assertThat().object(result.failedImages()).isEqualTo(List.of("second.png")).perform();
+        SHAFT.Validations.assertThat().object(Files.exists(Path.of(result.failedImagesFolder(), "second.png_testImage"))).isTrue().perform();
+        SHAFT.Validations.assertThat().object(Files.exists(Path.of(result.failedImagesFolder(), "second.png_referenceImage"))).isTrue().perform();
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void compareImageFolders_differentNumberOfImages_expectedToFail() throws IOException {
+        writeNoiseImage(referenceFolder, "first.png", 1);
+        writeNoiseImage(referenceFolder, "second.png", 2);
+        writeNoiseImage(testFolder, "first.png", 1);
+
+        ImageProcessingActions.compareImageFolders(referenceFolder.toString(), testFolder.toString(), 98);
+    }
+
+    @BeforeMethod
+    public void beforeMethod() throws IOException {
+        referenceFolder = Files.createTempDirectory("referenceImages");
+        testFolder = Files.createTempDirectory("testImages");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() throws IOException {
+        FileUtils.deleteDirectory(referenceFolder.toFile());
+        FileUtils.deleteDirectory(testFolder.toFile());
+    }
+
+    private static void writeNoiseImage(Path folder, String fileName, long seed) throws IOException {
+        var random = new Random(seed);
+        var image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        ImageIO.write(image, "png", folder.resolve(fileName).toFile());
+    }
 }
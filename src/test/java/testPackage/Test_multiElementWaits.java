@@ -0,0 +1,44 @@
+package testPackage;
+
+import com.shaft.driver.SHAFT;
+import org.openqa.selenium.By;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class Test_multiElementWaits {
+    private static final ThreadLocal<SHAFT.GUI.WebDriver> driver = new ThreadLocal<>();
+    private static final String TABLES_URL = "https://the-internet.herokuapp.com/tables";
+    private final By firstTable = By.id("table1");
+    private final By secondTable = By.id("table2");
+    private final By missingElement = By.id("missingElement");
+
+    @Test
+    public void waitForAll_displayedElements_expectedToPass() {
+        driver.get().browser().navigateToURL(TABLES_URL);
+        driver.get().element().waitForAll(firstTable, secondTable, By.tagName("h3"));
+    }
+
+    @Test
+    public void waitForAny_oneDisplayedElement_expectedToReturnItsLocator() {
+        driver.get().browser().navigateToURL(TABLES_URL);
+        var displayedElement = driver.get().element().waitForAny(missingElement, secondTable);
+        SHAFT.Validations.assertThat().object(displayedElement).isEqualTo(secondTable).perform();
+    }
+
+    @Test(expectedExceptions = {AssertionError.class})
+    public void waitForAll_oneMissingElement_expectedToFail() {
+        driver.get().browser().navigateToURL(TABLES_URL);
+        driver.get().element().waitForAll(firstTable, missingElement);
+    }
+
+    @BeforeMethod
+    public void beforeMethod() {
+        driver.set(new SHAFT.GUI.WebDriver());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() {
+        driver.get().quit();
+    }
+}
@@ -0,0 +1,121 @@
+package testPackage;
+
+import com.shaft.driver.SHAFT;
+import io.github.shafthq.shaft.gui.image.ImageProcessingActions;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+public class Test_openCVNativeMemory {
+    private static final Path PROCESS_STATUS = Path.of("/proc/self/status");
+    private static final int NUMBER_OF_WARM_UP_COMPARISONS = 100;
+    private static final int NUMBER_OF_COMPARISONS = 1000;
+    private static final List<Integer> CROPPED_REFERENCE_IMAGE_LOCATION = List.of(201, 151); // the top left corner +1 pixel
+    private static final long MAXIMUM_NATIVE_MEMORY_GROWTH = 64L * 1024 * 1024; // bytes
+    private byte[] currentPageScreenshot;
+    private Path referenceImage;
+    private Path croppedReferenceImage;
+
+    @Test
+    public void findImageWithinCurrentPage_thousandsOfComparisons_expectedNativeMemoryToStayFlat() throws IOException {
+        compare(NUMBER_OF_WARM_UP_COMPARISONS);
+        long baselineResidentMemory = getResidentMemory();
+        long baselineHeapMemory = getCommittedHeapMemory();
+        int foundCount = compare(NUMBER_OF_COMPARISONS);
+        // a growing Java heap can add at most its newly committed memory to the resident memory
+        long heapGrowth = Math.max(0, getCommittedHeapMemory() - baselineHeapMemory);
+        long nativeMemoryGrowth = getResidentMemory() - baselineResidentMemory - heapGrowth;
+
+        // finding the cropped reference image every time proves that the expensive matching paths actually ran
+        SHAFT.Validations.assertThat().number(foundCount).isEqualTo(NUMBER_OF_COMPARISONS).perform();
+        SHAFT.Validations.assertThat().number(nativeMemoryGrowth).isLessThanOrEquals(MAXIMUM_NATIVE_MEMORY_GROWTH).perform();
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        if (!Files.exists(PROCESS_STATUS)) {
+            throw new SkipException("The resident memory of the JVM can only be measured on Linux.");
+        }
+        var screenshot = createNoiseImage(640, 480, 1);
+        currentPageScreenshot = toPng(screenshot);
+        referenceImage = Files.createTempFile("referenceImage", ".png");
+        Files.write(referenceImage, toPng(createNoiseImage(64, 48, 2)));
+        croppedReferenceImage = Files.createTempFile("croppedReferenceImage", ".png");
+        Files.write(croppedReferenceImage, toPng(screenshot.getSubimage(200, 150, 64, 48)));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterClass() throws IOException {
+        ImageProcessingActions.releaseNativeMemory();
+        if (referenceImage != null) {
+            Files.deleteIfExists(referenceImage);
+        }
+        if (croppedReferenceImage != null) {
+            Files.deleteIfExists(croppedReferenceImage);
+        }
+    }
+
+    /**
+     * Searches for both reference images the given number of times. The cropped reference image is found, which runs
+     * the neighbourhood of its last location, the refinement, and the report highlight, while the other reference image
+     * is not part of the screenshot, so it runs the whole search every time.
+     *
+     * @return the number of times the cropped reference image was found at its expected location
+     */
+    private int compare(int numberOfComparisons) {
+        int foundCount = 0;
+        for (int i = 0; i < numberOfComparisons; i++) {
+            if (CROPPED_REFERENCE_IMAGE_LOCATION.equals(ImageProcessingActions.findImageWithinCurrentPage(croppedReferenceImage.toString(), currentPageScreenshot))) {
+                foundCount++;
+            }
+            ImageProcessingActions.findImageWithinCurrentPage(referenceImage.toString(), currentPageScreenshot);
+        }
+        return foundCount;
+    }
+
+    /**
+     * @return the resident memory of the JVM in bytes, as reported by the kernel
+     */
+    private static long getResidentMemory() throws IOException {
+        System.gc();
+        try (var lines = Files.lines(PROCESS_STATUS)) {
+            var residentMemory = lines.filter(line -> line.startsWith("VmRSS:"))
+                    .findFirst()
+                    .orElseThrow(() -> new SkipException("The resident memory of the JVM is not reported by the kernel."));
+            // for example "VmRSS:     123456 kB"
+            return Long.parseLong(residentMemory.replaceAll("\\D", "")) * 1024;
+        }
+    }
+
+    private static long getCommittedHeapMemory() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getCommitted();
+    }
+
+    private static BufferedImage createNoiseImage(int width, int height, long seed) {
+        var random = new Random(seed);
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        return image;
+    }
+
+    private static byte[] toPng(BufferedImage image) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,56 @@
+package testPackage;
+
+import com.shaft.driver.SHAFT;
+import io.github.shafthq.shaft.gui.image.ImageProcessingActions;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+public class Test_openCVTemplateMatching {
+    private Path referenceImage;
+
+    @Test
+    public void findImageWithinCurrentPage_templateAtOddOffset_expectedToBeFoundDespiteTheDownscaledSearch() throws IOException {
+        var screenshot = createNoiseImage(800, 600, 1);
+        // large enough to be searched on the coarsest pyramid level, at an offset that is not aligned to any level
+        referenceImage = Files.createTempFile("referenceImage", ".png");
+        Files.write(referenceImage, toPng(screenshot.getSubimage(203, 157, 160, 128)));
+
+        var coordinates = ImageProcessingActions.findImageWithinCurrentPage(referenceImage.toString(), toPng(screenshot));
+        // the top left corner +1 pixel
+        SHAFT.Validations.assertThat().object(coordinates).isEqualTo(List.of(204, 158)).perform();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() throws IOException {
+        ImageProcessingActions.releaseNativeMemory();
+        if (referenceImage != null) {
+            Files.deleteIfExists(referenceImage);
+        }
+    }
+
+    private static BufferedImage createNoiseImage(int width, int height, long seed) {
+        var random = new Random(seed);
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        return image;
+    }
+
+    private static byte[] toPng(BufferedImage image) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
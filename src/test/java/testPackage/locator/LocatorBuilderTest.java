@@ -2,6 +2,8 @@ package testPackage.locator;
 
 import com.shaft.driver.SHAFT;
 import io.github.shafthq.shaft.gui.locator.Locator;
+import io.github.shafthq.shaft.gui.locator.LocatorBuilder;
+import io.github.shafthq.shaft.gui.locator.Locators;
 import org.openqa.selenium.By;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -120,4 +122,18 @@ public class LocatorBuilderTest {
         By locator = Locator.hasTagName("a").relativeBy().below(Locator.hasTagName("h1").hasText("SHAFT User Guide").build());
         driver.assertThat().element(locator).text().contains("Upgrade Now").perform();
     }
+
+    @Test
+    public void cssExpressiblePredicates_autoMode_expectedToCompileToCachedCssSelector() {
+        driver.browser().navigateToURL("https://shafthq.github.io/SHAFT_Engine_Docusaurus/");
+        LocatorBuilder.setMode(Locators.AUTO);
+        try {
+            By locator = Locator.hasTagName("h1").hasClass("hero__title").build();
+            SHAFT.Validations.assertThat().object(locator.toString()).isEqualTo("By.cssSelector: h1[class=\"hero__title\"]").perform();
+            SHAFT.Validations.assertThat().object(Locator.hasTagName("h1").hasClass("hero__title").build() == locator).isTrue().perform();
+            driver.assertThat().element(locator).text().isEqualTo("SHAFT User Guide").perform();
+        } finally {
+            LocatorBuilder.setMode(Locators.XPATH);
+        }
+    }
 }
@@ -32,6 +32,17 @@ public class ShadowDomTest {
         }
     }
 
+    @Test
+    public void shaftLocator_nestedShadowDom() {
+        if (SHAFT.Properties.web.targetBrowserName().equalsIgnoreCase(Browser.CHROME.browserName())) {
+            driver.browser().navigateToURL("http://watir.com/examples/shadow_dom.html");
+            By shadowDom = SHAFT.GUI.Locator.hasAnyTagName().hasId("shadow_host").build();
+            By nestedShadowDom = By.cssSelector("#nested_shadow_host");
+            By nestedShadowElement = SHAFT.GUI.Locator.hasAnyTagName().hasId("nested_shadow_content").insideShadowDom(nestedShadowDom).insideShadowDom(shadowDom).build();
+            driver.assertThat().element(nestedShadowElement).text().isEqualTo("nested text").perform();
+        }
+    }
+
     @BeforeMethod
     public void beforeMethod() {
         if (SHAFT.Properties.web.targetBrowserName().equalsIgnoreCase(Browser.CHROME.browserName())) {